@@ -0,0 +1,173 @@
+package io.github.diegorscs.cache;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import io.github.diegorscs.config.EmailFilterProperties;
+import io.github.diegorscs.util.EmailUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Bloom filter of the normalized e-mails in {@code person}, used to skip the duplicate pre-check for e-mails that
+ * are definitely new. Deleted or replaced e-mails cannot be removed, so they linger as false positives until
+ * {@link EmailFilterRebuilder} builds a fresh filter. Until the first build, or after {@link #invalidate()}, every
+ * e-mail is reported as possibly present and the pre-check always runs.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(EmailFilterProperties.class)
+public class EmailFilter {
+
+    private final EmailFilterProperties properties;
+    private final Counter absent;
+    private final Counter present;
+    private final Counter falsePositive;
+    private volatile BloomFilter<String> filter;
+    private volatile BloomFilter<String> building;
+    private long generation;
+
+    public EmailFilter(EmailFilterProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.absent = checks(meterRegistry, "absent");
+        this.present = checks(meterRegistry, "present");
+        this.falsePositive = checks(meterRegistry, "false_positive");
+        Gauge.builder("persons.email_filter.expected_fpp", this, emailFilter -> emailFilter.expectedFpp())
+                .description("False-positive probability estimated from the bits set in the filter")
+                .register(meterRegistry);
+        Gauge.builder("persons.email_filter.elements", this, emailFilter -> emailFilter.approximateElements())
+                .description("Approximate number of distinct e-mails added to the filter")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the e-mails that may already exist and therefore still need the database check, recording the rest
+     * as definitely absent.
+     */
+    public Set<String> mightContain(Collection<String> normalizedEmails) {
+        BloomFilter<String> current = filter;
+        if (!properties.enabled() || current == null) {
+            return Set.copyOf(normalizedEmails);
+        }
+        Set<String> candidates = normalizedEmails.stream()
+                .filter(current::mightContain)
+                .collect(Collectors.toSet());
+        absent.increment(normalizedEmails.size() - candidates.size());
+        return candidates;
+    }
+
+    /**
+     * Records the outcome of the database check for the candidates returned by {@link #mightContain}, which is
+     * what the false-positive metric is computed from.
+     */
+    public void recordLookup(int candidates, int found) {
+        if (properties.enabled() && filter != null) {
+            present.increment(found);
+            falsePositive.increment(candidates - found);
+        }
+    }
+
+    /**
+     * Adds the e-mail once the current transaction commits, so a rebuild that started in between either reads
+     * it from the database or receives it here.
+     */
+    public void put(String email) {
+        String normalizedEmail = EmailUtils.normalize(email);
+        afterCommit(() -> {
+            BloomFilter<String> current = filter;
+            if (current != null) {
+                current.put(normalizedEmail);
+            }
+            BloomFilter<String> next = building;
+            if (next != null) {
+                next.put(normalizedEmail);
+            }
+        });
+    }
+
+    /**
+     * Stops trusting the filter until the next rebuild, for writes that bypass {@link #put}, such as bulk imports.
+     */
+    public void invalidate() {
+        afterCommit(() -> {
+            synchronized (this) {
+                generation++;
+                filter = null;
+            }
+        });
+    }
+
+    /**
+     * Builds a new filter sized for {@code count} e-mails (at least the configured expected insertions) and
+     * swaps it in. The query is only opened once e-mails put from then on go to the new filter too, so none is
+     * missed between its snapshot and the swap.
+     */
+    public void rebuild(long count, Supplier<Stream<String>> normalizedEmails) {
+        if (!properties.enabled()) {
+            return;
+        }
+        BloomFilter<String> next = BloomFilter.create(Funnels.stringFunnel(StandardCharsets.UTF_8),
+                Math.max(properties.expectedInsertions(), count * 2), properties.falsePositiveRate());
+        long startedAt;
+        synchronized (this) {
+            startedAt = generation;
+        }
+        building = next;
+        try (Stream<String> emails = normalizedEmails.get()) {
+            emails.forEach(next::put);
+            synchronized (this) {
+                if (generation != startedAt) {
+                    log.info("E-mail filter was invalidated while rebuilding, discarding it");
+                    return;
+                }
+                filter = next;
+            }
+            log.info("E-mail filter rebuilt with {} e-mails, expected false-positive rate {}",
+                    next.approximateElementCount(), next.expectedFpp());
+        } finally {
+            building = null;
+        }
+    }
+
+    private double expectedFpp() {
+        BloomFilter<String> current = filter;
+        return current == null ? Double.NaN : current.expectedFpp();
+    }
+
+    private double approximateElements() {
+        BloomFilter<String> current = filter;
+        return current == null ? 0 : current.approximateElementCount();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static Counter checks(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("persons.email_filter.checks")
+                .description("E-mails checked against the filter before a batch create, by outcome")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
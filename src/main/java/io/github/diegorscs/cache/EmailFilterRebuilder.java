@@ -0,0 +1,26 @@
+package io.github.diegorscs.cache;
+
+import io.github.diegorscs.repository.PersonRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Builds the e-mail filter at startup by streaming the {@code email} column and rebuilds it every
+ * {@code persons.email-filter.rebuild-interval}, clearing out deleted and replaced e-mails. The transaction is not
+ * read-only so it runs on the primary: a lagging replica would miss e-mails committed just before the rebuild.
+ */
+@Component
+@RequiredArgsConstructor
+public class EmailFilterRebuilder {
+
+    private final PersonRepository personRepository;
+    private final EmailFilter emailFilter;
+
+    @Transactional
+    @Scheduled(initialDelay = 0, fixedDelayString = "${persons.email-filter.rebuild-interval:1h}")
+    public void rebuild() {
+        emailFilter.rebuild(personRepository.count(), personRepository::streamNormalizedEmails);
+    }
+}
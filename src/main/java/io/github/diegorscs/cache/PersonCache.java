@@ -0,0 +1,137 @@
+package io.github.diegorscs.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.diegorscs.config.PersonCacheProperties;
+import io.github.diegorscs.datasource.ReadYourWrites;
+import io.github.diegorscs.model.Person;
+import io.github.diegorscs.util.EmailUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Read-through cache for person lookups. Persons are cached by id only; the e-mail cache maps a normalized
+ * e-mail to an id and is validated against the cached person, so evicting the id invalidates both keys at once.
+ * Evictions inside a transaction happen after it commits, and a load only caches what it read if no eviction
+ * happened since it started (see {@link #stamp()}), so a reader racing a write never puts the old row back. With read
+ * replicas, a person written within the read-your-writes window is not cached from a read that may have been served
+ * by a replica still behind that write.
+ */
+@Component
+@EnableConfigurationProperties(PersonCacheProperties.class)
+public class PersonCache {
+
+    private final boolean enabled;
+    private final Cache<Long, Person> personsById;
+    private final Cache<String, Long> idsByEmail;
+    private final Cache<Long, Boolean> recentlyWritten;
+    private final ReadYourWrites readYourWrites;
+    private final AtomicLong evictions = new AtomicLong();
+
+    public PersonCache(PersonCacheProperties properties, MeterRegistry meterRegistry,
+                       Optional<ReadYourWrites> readYourWrites) {
+        this.enabled = properties.enabled();
+        this.personsById = buildCache(properties);
+        this.idsByEmail = buildCache(properties);
+        this.readYourWrites = readYourWrites.orElse(null);
+        this.recentlyWritten = this.readYourWrites == null ? null : Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(this.readYourWrites.getWindow())
+                .<Long, Boolean>build();
+        if (enabled) {
+            CaffeineCacheMetrics.monitor(meterRegistry, personsById, "persons.by-id");
+            CaffeineCacheMetrics.monitor(meterRegistry, idsByEmail, "persons.by-email");
+        }
+    }
+
+    public Optional<Person> getById(Long id) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(personsById.getIfPresent(id));
+    }
+
+    public Optional<Person> getByEmail(String email) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        String normalizedEmail = EmailUtils.normalize(email);
+        Long id = idsByEmail.getIfPresent(normalizedEmail);
+        if (id == null) {
+            return Optional.empty();
+        }
+        Person person = personsById.getIfPresent(id);
+        if (person == null || !normalizedEmail.equals(EmailUtils.normalize(person.getEmail()))) {
+            idsByEmail.invalidate(normalizedEmail);
+            return Optional.empty();
+        }
+        return Optional.of(person);
+    }
+
+    /**
+     * Returns the eviction count to pass to {@link #put(Person, long)}, taken before reading the person to cache.
+     */
+    public long stamp() {
+        return evictions.get();
+    }
+
+    /**
+     * Caches a person read after {@link #stamp()} returned {@code stamp}, unless an eviction has happened since, as
+     * the read may then have returned the row as it was before the evicting write committed, or the person was
+     * written so recently that a replica serving the read may not have replayed the write yet.
+     */
+    public synchronized void put(Person person, long stamp) {
+        if (!enabled || person.getId() == null || evictions.get() != stamp) {
+            return;
+        }
+        if (recentlyWritten != null && recentlyWritten.getIfPresent(person.getId()) != null
+                && !readYourWrites.isPinned()) {
+            return;
+        }
+        personsById.put(person.getId(), person);
+        idsByEmail.put(EmailUtils.normalize(person.getEmail()), person.getId());
+    }
+
+    /**
+     * Evicts the person once the current transaction commits, so a concurrent reader cannot miss the cache and
+     * re-cache the row the transaction is still replacing.
+     */
+    public void evict(Long id) {
+        if (!enabled) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(id);
+                }
+            });
+        } else {
+            invalidate(id);
+        }
+    }
+
+    private synchronized void invalidate(Long id) {
+        evictions.incrementAndGet();
+        personsById.invalidate(id);
+        if (recentlyWritten != null) {
+            recentlyWritten.put(id, Boolean.TRUE);
+        }
+    }
+
+    private static <K, V> Cache<K, V> buildCache(PersonCacheProperties properties) {
+        return Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(properties.ttl())
+                .recordStats()
+                .build();
+    }
+}
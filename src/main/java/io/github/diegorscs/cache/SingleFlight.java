@@ -0,0 +1,108 @@
+package io.github.diegorscs.cache;
+
+import io.github.diegorscs.config.SingleFlightProperties;
+import io.github.diegorscs.datasource.ReadYourWrites;
+import io.github.diegorscs.exceptions.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent identical lookups: the first caller for a key runs the query and callers arriving while it is
+ * in flight wait up to {@code persons.single-flight.timeout} for its result, or its exception, instead of querying
+ * themselves. The flight is forgotten as soon as the query returns, so this is not a cache. Requests pinned to the
+ * primary by {@link ReadYourWrites} always query on their own, as a flight may be reading from a replica.
+ */
+@Component
+@EnableConfigurationProperties(SingleFlightProperties.class)
+public class SingleFlight {
+
+    private final SingleFlightProperties properties;
+    private final ReadYourWrites readYourWrites;
+    private final MeterRegistry meterRegistry;
+    private final Map<Flight, CompletableFuture<Object>> flights = new ConcurrentHashMap<>();
+
+    public SingleFlight(SingleFlightProperties properties, MeterRegistry meterRegistry,
+                        Optional<ReadYourWrites> readYourWrites) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.readYourWrites = readYourWrites.orElse(null);
+        Gauge.builder("persons.single_flight.in_flight", flights, Map::size)
+                .description("Lookups currently being executed on behalf of one or more callers")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs {@code query} for {@code key}, or joins the run already in flight for the same {@code lookup} and key.
+     *
+     * @throws ServiceUnavailableException if the flight joined does not finish within the timeout
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String lookup, Object key, Supplier<T> query) {
+        if (!properties.enabled() || (readYourWrites != null && readYourWrites.isPinned())) {
+            return query.get();
+        }
+        Flight flight = new Flight(lookup, key);
+        CompletableFuture<Object> leader = new CompletableFuture<>();
+        CompletableFuture<Object> inFlight = flights.putIfAbsent(flight, leader);
+        if (inFlight == null) {
+            lookups(lookup, "executed").increment();
+            return run(flight, leader, query);
+        }
+        lookups(lookup, "collapsed").increment();
+        try {
+            return (T) inFlight.get(properties.timeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            lookups(lookup, "timeout").increment();
+            throw new ServiceUnavailableException("Timed out waiting for the same lookup already in progress!");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Interrupted while waiting for the same lookup already in progress!");
+        }
+    }
+
+    private <T> T run(Flight flight, CompletableFuture<Object> leader, Supplier<T> query) {
+        // Leaving the map before completing means a caller that arrives once the result is known starts a new query.
+        T result;
+        try {
+            result = query.get();
+        } catch (RuntimeException | Error e) {
+            flights.remove(flight, leader);
+            leader.completeExceptionally(e);
+            throw e;
+        }
+        flights.remove(flight, leader);
+        leader.complete(result);
+        return result;
+    }
+
+    private Counter lookups(String lookup, String result) {
+        return Counter.builder("persons.single_flight.lookups")
+                .description("Lookups by whether they ran the query, joined one in flight or gave up waiting")
+                .tag("lookup", lookup)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record Flight(String lookup, Object key) {
+    }
+}
@@ -0,0 +1,15 @@
+package io.github.diegorscs.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "persons.email-filter")
+public record EmailFilterProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("1000000") long expectedInsertions,
+        @DefaultValue("0.01") double falsePositiveRate,
+        @DefaultValue("1h") Duration rebuildInterval
+) {
+}
@@ -0,0 +1,68 @@
+package io.github.diegorscs.config;
+
+import io.github.diegorscs.dto.GenderResponse;
+import io.github.diegorscs.dto.PersonBatchItemResponse;
+import io.github.diegorscs.dto.PersonImportRejection;
+import io.github.diegorscs.dto.PersonImportResponse;
+import io.github.diegorscs.dto.PersonLookupRequest;
+import io.github.diegorscs.dto.PersonLookupResponse;
+import io.github.diegorscs.dto.PersonPageResponse;
+import io.github.diegorscs.dto.PersonRequest;
+import io.github.diegorscs.dto.PersonResponse;
+import io.github.diegorscs.dto.PersonSearchHit;
+import io.github.diegorscs.dto.PersonSearchResponse;
+import io.github.diegorscs.dto.PersonStatsResponse;
+import io.github.diegorscs.exceptions.ExceptionResponse;
+import io.github.diegorscs.model.GenderCount;
+import io.github.diegorscs.model.Person;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+/**
+ * Hints the AOT engine cannot infer for the native image: Jackson binding of the Lombok DTOs, the constructors
+ * used by the JPQL {@code new PersonResponse(...)} and {@code new GenderCount(...)} projections, the
+ * vendor-specific Flyway scripts, the static OpenAPI document and the Logback appenders declared in
+ * {@code logback-spring.xml}.
+ */
+@Configuration(proxyBeanMethods = false)
+@ImportRuntimeHints(NativeRuntimeHints.class)
+@RegisterReflectionForBinding({
+        PersonRequest.class,
+        PersonResponse.class,
+        PersonPageResponse.class,
+        PersonBatchItemResponse.class,
+        PersonImportResponse.class,
+        PersonImportRejection.class,
+        PersonLookupRequest.class,
+        PersonLookupResponse.class,
+        GenderResponse.class,
+        PersonStatsResponse.class,
+        PersonSearchResponse.class,
+        PersonSearchHit.class,
+        ExceptionResponse.class
+})
+public class NativeRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        hints.reflection()
+                .registerType(PersonResponse.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS)
+                .registerType(GenderCount.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS)
+                .registerType(Person.class, MemberCategory.DECLARED_FIELDS,
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_DECLARED_METHODS)
+                .registerType(TypeReference.of("ch.qos.logback.classic.AsyncAppender"),
+                        MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS)
+                .registerType(TypeReference.of("org.springframework.boot.logging.logback.StructuredLogEncoder"),
+                        MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+        hints.resources()
+                .registerPattern("db/migration/*.sql")
+                .registerPattern("db/vendor/*/*.sql")
+                .registerPattern("static/openapi.yaml")
+                .registerPattern("META-INF/resources/webjars/swagger-ui/**");
+    }
+}
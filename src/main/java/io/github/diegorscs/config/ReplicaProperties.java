@@ -0,0 +1,28 @@
+package io.github.diegorscs.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Read replicas of {@code spring.datasource}. Username and password default to the primary's.
+ */
+@ConfigurationProperties(prefix = "persons.replicas")
+public record ReplicaProperties(
+        @DefaultValue List<String> urls,
+        String username,
+        String password,
+        @DefaultValue("5s") Duration maxLag,
+        @DefaultValue("2s") Duration checkInterval
+) {
+
+    /**
+     * How long a client keeps reading from the primary after a write: a replica in rotation may lag up to
+     * {@code maxLag}, plus however long ago it was last checked.
+     */
+    public Duration readYourWritesWindow() {
+        return maxLag.plus(checkInterval);
+    }
+}
@@ -0,0 +1,106 @@
+package io.github.diegorscs.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.github.diegorscs.datasource.ReadYourWrites;
+import io.github.diegorscs.datasource.ReplicaLagMonitor;
+import io.github.diegorscs.datasource.ReplicaRoutingDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionOutcome;
+import org.springframework.boot.autoconfigure.condition.SpringBootCondition;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read replicas, wired only when {@code persons.replicas.urls} lists at least one. The application's
+ * {@link DataSource} becomes a {@link LazyConnectionDataSourceProxy}, which fetches the physical connection at the
+ * first statement, after the transaction manager has marked it read-only. Read-only transactions are then served by
+ * {@link ReplicaRoutingDataSource} and everything else, Flyway included, by the primary pool. The {@code reactive}
+ * profile declares its own pool and is left alone.
+ */
+@Configuration
+@Profile("!reactive")
+@Conditional(ReplicaRoutingConfig.OnReplicasConfigured.class)
+@EnableConfigurationProperties({DataSourceProperties.class, ReplicaProperties.class})
+public class ReplicaRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReadYourWrites readYourWrites(ReplicaProperties properties) {
+        return new ReadYourWrites(properties.readYourWritesWindow(), Clock.systemUTC());
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            HikariDataSource primaryDataSource, DataSourceProperties dataSourceProperties,
+            ReplicaProperties properties, ReadYourWrites readYourWrites, MeterRegistry meterRegistry
+    ) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < properties.urls().size(); i++) {
+            String name = "replica-" + (i + 1);
+            DataSourceBuilder<HikariDataSource> builder = dataSourceProperties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .url(properties.urls().get(i));
+            if (properties.username() != null) {
+                builder.username(properties.username()).password(properties.password());
+            }
+            HikariDataSource replica = builder.build();
+            replica.setPoolName(primaryDataSource.getPoolName() + "-" + name);
+            replica.setReadOnly(true);
+            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.put(name, replica);
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, readYourWrites);
+    }
+
+    @Bean
+    @Primary
+    public LazyConnectionDataSourceProxy dataSource(HikariDataSource primaryDataSource,
+                                                    ReplicaRoutingDataSource replicaRoutingDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaRoutingDataSource);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(ReplicaRoutingDataSource replicaRoutingDataSource,
+                                               ReplicaProperties properties, MeterRegistry meterRegistry) {
+        return new ReplicaLagMonitor(replicaRoutingDataSource, properties, meterRegistry);
+    }
+
+    static class OnReplicasConfigured extends SpringBootCondition {
+
+        @Override
+        public ConditionOutcome getMatchOutcome(ConditionContext context, AnnotatedTypeMetadata metadata) {
+            List<String> urls = Binder.get(context.getEnvironment())
+                    .bind("persons.replicas.urls", Bindable.listOf(String.class))
+                    .orElse(List.of());
+            return urls.isEmpty()
+                    ? ConditionOutcome.noMatch("persons.replicas.urls is empty")
+                    : ConditionOutcome.match("persons.replicas.urls lists " + urls.size() + " replica(s)");
+        }
+    }
+}
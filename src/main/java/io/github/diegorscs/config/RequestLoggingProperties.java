@@ -0,0 +1,14 @@
+package io.github.diegorscs.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "persons.request-logging")
+public record RequestLoggingProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("1.0") double sampleRate,
+        @DefaultValue("500ms") Duration slowThreshold
+) {
+}
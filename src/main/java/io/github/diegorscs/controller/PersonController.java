@@ -1,52 +1,145 @@
 package io.github.diegorscs.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import io.github.diegorscs.dto.GenderResponse;
+import io.github.diegorscs.dto.PersonBatchItemResponse;
+import io.github.diegorscs.dto.PersonImportResponse;
+import io.github.diegorscs.dto.PersonLookupRequest;
+import io.github.diegorscs.dto.PersonLookupResponse;
+import io.github.diegorscs.dto.PersonPageResponse;
 import io.github.diegorscs.dto.PersonRequest;
 import io.github.diegorscs.dto.PersonResponse;
+import io.github.diegorscs.dto.PersonSearchResponse;
+import io.github.diegorscs.dto.PersonStatsResponse;
+import io.github.diegorscs.mapper.CursorMapper;
 import io.github.diegorscs.mapper.PersonMapper;
+import io.github.diegorscs.model.BatchItem;
 import io.github.diegorscs.model.Gender;
 import io.github.diegorscs.model.Person;
 import io.github.diegorscs.service.PersonService;
+import io.github.diegorscs.util.ETagUtils;
+import io.github.diegorscs.util.RequestValidationUtils;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.Arrays;
 import java.util.List;
+import java.util.stream.IntStream;
 
 import static io.github.diegorscs.mapper.PersonMapper.toEntity;
 import static io.github.diegorscs.mapper.PersonMapper.toResponse;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/v1/persons")
 @RequiredArgsConstructor
 public class PersonController {
 
+    private static final String TEXT_CSV_VALUE = "text/csv";
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType(TEXT_CSV_VALUE);
+
     private final PersonService personService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping
     public ResponseEntity<List<PersonResponse>> findAll() {
-        List<Person> people = personService.findAll();
-        return ResponseEntity.ok().body(people.stream().map(PersonMapper::toResponse).toList());
+        List<PersonResponse> content = personService.findAll();
+        return ResponseEntity.ok().eTag(ETagUtils.fromContent(content)).body(content);
+    }
+
+    @GetMapping(params = "ids")
+    public ResponseEntity<PersonLookupResponse> findByIds(@RequestParam List<Long> ids) {
+        PersonLookupResponse response = lookup(ids);
+        return ResponseEntity.ok().eTag(ETagUtils.fromContent(response.getContent())).body(response);
+    }
+
+    @PostMapping("/lookup")
+    public ResponseEntity<PersonLookupResponse> lookup(@RequestBody PersonLookupRequest request) {
+        return ResponseEntity.ok(lookup(request.getIds()));
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<PersonPageResponse> findPage(
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) String after
+    ) {
+        RequestValidationUtils.validateLimit(limit);
+        Long afterId = after == null ? 0L : CursorMapper.decode(after);
+        PersonPageResponse page = personService.findPage(afterId, limit);
+        return ResponseEntity.ok().eTag(ETagUtils.fromContent(page.getContent())).body(page);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> export() {
+        StreamingResponseBody body = this::writeNdjson;
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    @GetMapping("/export.csv")
+    public ResponseEntity<StreamingResponseBody> exportCsv() {
+        StreamingResponseBody body = personService::exportCsv;
+        return ResponseEntity.ok()
+                .contentType(TEXT_CSV)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"persons.csv\"")
+                .body(body);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<PersonResponse> findById(@PathVariable("id") Long id) {
+    public ResponseEntity<PersonResponse> findById(
+            @PathVariable("id") Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        if (ifNoneMatch != null) {
+            String etag = ETagUtils.fromVersion(personService.findVersionById(id));
+            if (ETagUtils.matchesAny(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+        }
         Person person = personService.findById(id);
-        return ResponseEntity.ok().body(toResponse(person));
+        return ResponseEntity.ok().eTag(ETagUtils.fromVersion(person.getVersion())).body(toResponse(person));
     }
 
     @PostMapping
     public ResponseEntity<PersonResponse> create(@RequestBody PersonRequest request) {
         Person person = personService.create(toEntity(request));
-        return ResponseEntity.status(HttpStatus.CREATED).body(toResponse(person));
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(ETagUtils.fromVersion(person.getVersion())).body(toResponse(person));
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<List<PersonBatchItemResponse>> createAll(@RequestBody List<PersonRequest> requests) {
+        RequestValidationUtils.validateBatchSize(requests.size());
+        List<BatchItem> items = personService.createAll(requests.stream().map(PersonMapper::toEntity).toList());
+        return ResponseEntity.ok().body(IntStream.range(0, items.size())
+                .mapToObj(index -> PersonMapper.toBatchItemResponse(index, items.get(index)))
+                .toList());
+    }
+
+    @PostMapping(value = "/import", consumes = TEXT_CSV_VALUE)
+    public ResponseEntity<PersonImportResponse> importCsv(InputStream csv) {
+        return ResponseEntity.ok(personService.importCsv(csv));
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<PersonResponse> update(@PathVariable("id") Long id, @RequestBody PersonRequest request) {
-        Person person = personService.update(id, toEntity(request));
-        return ResponseEntity.ok().body(toResponse(person));
+    public ResponseEntity<PersonResponse> update(
+            @PathVariable("id") Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody PersonRequest request
+    ) {
+        Person person = personService.update(id, toEntity(request), ETagUtils.toVersion(ifMatch));
+        return ResponseEntity.ok().eTag(ETagUtils.fromVersion(person.getVersion())).body(toResponse(person));
     }
 
     @DeleteMapping("/{id}")
@@ -58,13 +151,28 @@ public class PersonController {
     @GetMapping("/email")
     public ResponseEntity<PersonResponse> findByEmail(@RequestParam String value) {
         Person person = personService.findByEmail(value);
-        return ResponseEntity.ok().body(toResponse(person));
+        return ResponseEntity.ok().eTag(ETagUtils.fromVersion(person.getVersion())).body(toResponse(person));
     }
 
     @GetMapping("/like-name")
-    public ResponseEntity<List<PersonResponse>> findByLikeName(@RequestParam String term) {
-        List<Person> people = personService.findByLikeName(term);
-        return ResponseEntity.ok().body(people.stream().map(PersonMapper::toResponse).toList());
+    public ResponseEntity<List<PersonResponse>> findByLikeName(
+            @RequestParam String term,
+            @RequestParam(defaultValue = "50") int limit
+    ) {
+        RequestValidationUtils.validateLimit(limit);
+        List<PersonResponse> content = personService.findByLikeName(term, limit);
+        return ResponseEntity.ok().eTag(ETagUtils.fromContent(content)).body(content);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<PersonSearchResponse> search(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(defaultValue = "false") boolean highlight
+    ) {
+        List<String> terms = RequestValidationUtils.searchTerms(q, page, limit);
+        return ResponseEntity.ok(personService.search(terms, page, limit, highlight));
     }
 
     @GetMapping("/gender")
@@ -75,4 +183,30 @@ public class PersonController {
         return ResponseEntity.ok(genderResponseList);
     }
 
+    @GetMapping("/stats")
+    public ResponseEntity<PersonStatsResponse> getStats() {
+        return ResponseEntity.ok(personService.getStats());
+    }
+
+    private PersonLookupResponse lookup(List<Long> ids) {
+        RequestValidationUtils.validateLookupIds(ids);
+        return personService.findByIds(ids);
+    }
+
+    private void writeNdjson(OutputStream outputStream) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(PersonResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+            generator.setRootValueSeparator(null);
+            personService.exportAll(person -> {
+                try {
+                    writer.writeValue(generator, person);
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
 }
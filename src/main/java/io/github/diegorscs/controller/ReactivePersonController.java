@@ -0,0 +1,180 @@
+package io.github.diegorscs.controller;
+
+import io.github.diegorscs.dto.GenderResponse;
+import io.github.diegorscs.dto.PersonBatchItemResponse;
+import io.github.diegorscs.dto.PersonImportResponse;
+import io.github.diegorscs.dto.PersonLookupRequest;
+import io.github.diegorscs.dto.PersonLookupResponse;
+import io.github.diegorscs.dto.PersonPageResponse;
+import io.github.diegorscs.dto.PersonRequest;
+import io.github.diegorscs.dto.PersonResponse;
+import io.github.diegorscs.dto.PersonSearchResponse;
+import io.github.diegorscs.dto.PersonStatsResponse;
+import io.github.diegorscs.exceptions.NotImplementedException;
+import io.github.diegorscs.mapper.CursorMapper;
+import io.github.diegorscs.mapper.PersonMapper;
+import io.github.diegorscs.model.Gender;
+import io.github.diegorscs.service.ReactivePersonService;
+import io.github.diegorscs.util.ETagUtils;
+import io.github.diegorscs.util.RequestValidationUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static io.github.diegorscs.mapper.PersonMapper.toEntity;
+import static io.github.diegorscs.mapper.PersonMapper.toResponse;
+
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/v1/persons")
+@RequiredArgsConstructor
+public class ReactivePersonController {
+
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
+    private final ReactivePersonService personService;
+
+    @GetMapping
+    public Flux<PersonResponse> findAll() {
+        return personService.findAll();
+    }
+
+    @GetMapping(params = "ids")
+    public Mono<ResponseEntity<PersonLookupResponse>> findByIds(@RequestParam List<Long> ids) {
+        return lookup(ids).map(response -> ResponseEntity.ok()
+                .eTag(ETagUtils.fromContent(response.getContent()))
+                .body(response));
+    }
+
+    @PostMapping("/lookup")
+    public Mono<PersonLookupResponse> lookup(@RequestBody PersonLookupRequest request) {
+        return lookup(request.getIds());
+    }
+
+    @GetMapping("/page")
+    public Mono<PersonPageResponse> findPage(
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) String after
+    ) {
+        RequestValidationUtils.validateLimit(limit);
+        Long afterId = after == null ? 0L : CursorMapper.decode(after);
+        return personService.findPage(afterId, limit);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<PersonResponse> export() {
+        return personService.findAll();
+    }
+
+    @GetMapping(value = "/export.csv", produces = TEXT_CSV_VALUE)
+    public ResponseEntity<Flux<String>> exportCsv() {
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"persons.csv\"")
+                .body(personService.exportCsv());
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<PersonResponse>> findById(
+            @PathVariable("id") Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        Mono<ResponseEntity<PersonResponse>> found = personService.findById(id)
+                .map(person -> ResponseEntity.ok().eTag(ETagUtils.fromVersion(person.getVersion())).body(toResponse(person)));
+        if (ifNoneMatch == null) {
+            return found;
+        }
+        return personService.findVersionById(id).flatMap(version -> {
+            String etag = ETagUtils.fromVersion(version);
+            return ETagUtils.matchesAny(ifNoneMatch, etag)
+                    ? Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).<PersonResponse>build())
+                    : found;
+        });
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<PersonResponse>> create(@RequestBody PersonRequest request) {
+        return personService.create(toEntity(request)).map(person -> ResponseEntity.status(HttpStatus.CREATED)
+                .eTag(ETagUtils.fromVersion(person.getVersion()))
+                .body(toResponse(person)));
+    }
+
+    @PostMapping("/batch")
+    public Mono<List<PersonBatchItemResponse>> createAll(@RequestBody List<PersonRequest> requests) {
+        RequestValidationUtils.validateBatchSize(requests.size());
+        return personService.createAll(requests.stream().map(PersonMapper::toEntity).toList())
+                .map(items -> IntStream.range(0, items.size())
+                        .mapToObj(index -> PersonMapper.toBatchItemResponse(index, items.get(index)))
+                        .toList());
+    }
+
+    @PostMapping(value = "/import", consumes = TEXT_CSV_VALUE)
+    public Mono<PersonImportResponse> importCsv() {
+        throw new NotImplementedException("CSV import is not available with the reactive profile");
+    }
+
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<PersonResponse>> update(
+            @PathVariable("id") Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody PersonRequest request
+    ) {
+        return personService.update(id, toEntity(request), ETagUtils.toVersion(ifMatch))
+                .map(person -> ResponseEntity.ok().eTag(ETagUtils.fromVersion(person.getVersion())).body(toResponse(person)));
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> delete(@PathVariable("id") Long id) {
+        return personService.delete(id).then(Mono.just(ResponseEntity.noContent().<Void>build()));
+    }
+
+    @GetMapping("/email")
+    public Mono<ResponseEntity<PersonResponse>> findByEmail(@RequestParam String value) {
+        return personService.findByEmail(value)
+                .map(person -> ResponseEntity.ok().eTag(ETagUtils.fromVersion(person.getVersion())).body(toResponse(person)));
+    }
+
+    @GetMapping("/like-name")
+    public Flux<PersonResponse> findByLikeName(
+            @RequestParam String term,
+            @RequestParam(defaultValue = "50") int limit
+    ) {
+        RequestValidationUtils.validateLimit(limit);
+        return personService.findByLikeName(term, limit);
+    }
+
+    @GetMapping("/search")
+    public Mono<PersonSearchResponse> search(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(defaultValue = "false") boolean highlight
+    ) {
+        List<String> terms = RequestValidationUtils.searchTerms(q, page, limit);
+        return personService.search(terms, page, limit, highlight);
+    }
+
+    @GetMapping("/gender")
+    public Flux<GenderResponse> listGenders() {
+        return Flux.fromArray(Gender.values())
+                .map(gender -> new GenderResponse(gender.name(), gender.getDescription()));
+    }
+
+    @GetMapping("/stats")
+    public Mono<PersonStatsResponse> getStats() {
+        return personService.getStats();
+    }
+
+    private Mono<PersonLookupResponse> lookup(List<Long> ids) {
+        RequestValidationUtils.validateLookupIds(ids);
+        return personService.findByIds(ids);
+    }
+}
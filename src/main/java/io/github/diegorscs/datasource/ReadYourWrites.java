@@ -0,0 +1,82 @@
+package io.github.diegorscs.datasource;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.util.WebUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Pins a client's reads to the primary for {@code window} after one of its requests commits a write, so it never
+ * reads its own change back from a replica that has not replayed it yet. The deadline is kept on the request and
+ * sent back in a cookie, which covers the client's following requests as long as it returns the cookie; reads
+ * outside a request are never pinned.
+ */
+public class ReadYourWrites implements TransactionExecutionListener {
+
+    public static final String COOKIE = "persons-read-primary-until";
+    private static final String ATTRIBUTE = ReadYourWrites.class.getName() + ".until";
+
+    private final Duration window;
+    private final Clock clock;
+
+    public ReadYourWrites(Duration window, Clock clock) {
+        this.window = window;
+        this.clock = clock;
+    }
+
+    public Duration getWindow() {
+        return window;
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        if (commitFailure != null || transaction.isReadOnly()
+                || !(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return;
+        }
+        long until = clock.millis() + window.toMillis();
+        attributes.getRequest().setAttribute(ATTRIBUTE, until);
+        HttpServletResponse response = attributes.getResponse();
+        if (response != null && !response.isCommitted()) {
+            Cookie cookie = new Cookie(COOKIE, Long.toString(until));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) window.toSeconds() + 1);
+            response.addCookie(cookie);
+        }
+    }
+
+    public boolean isPinned() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return false;
+        }
+        HttpServletRequest request = attributes.getRequest();
+        long until;
+        if (request.getAttribute(ATTRIBUTE) instanceof Long value) {
+            until = value;
+        } else {
+            until = fromCookie(request);
+            request.setAttribute(ATTRIBUTE, until);
+        }
+        return until > clock.millis();
+    }
+
+    private static long fromCookie(HttpServletRequest request) {
+        Cookie cookie = WebUtils.getCookie(request, COOKIE);
+        if (cookie == null) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(cookie.getValue());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package io.github.diegorscs.datasource;
+
+import io.github.diegorscs.config.ReplicaProperties;
+import io.github.diegorscs.datasource.ReplicaRoutingDataSource.Replica;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * Measures each replica's replay lag every {@code persons.replicas.check-interval} and takes it out of rotation
+ * while the lag exceeds {@code persons.replicas.max-lag} or it cannot be reached. A standby that has replayed
+ * everything it received counts as caught up even if the primary has been idle for a while; a server that is not
+ * in recovery has no lag at all.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private static final String LAG_QUERY = """
+            SELECT CASE
+                     WHEN NOT pg_is_in_recovery() THEN 0
+                     WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                     ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp())
+                   END""";
+
+    private final ReplicaRoutingDataSource routingDataSource;
+    private final ReplicaProperties properties;
+
+    public ReplicaLagMonitor(ReplicaRoutingDataSource routingDataSource, ReplicaProperties properties,
+                             MeterRegistry meterRegistry) {
+        this.routingDataSource = routingDataSource;
+        this.properties = properties;
+        for (Replica replica : routingDataSource.getReplicas()) {
+            Gauge.builder("persons.datasource.replica.lag", replica, ReplicaLagMonitor::lagSeconds)
+                    .description("Replication lag of the replica at its last check, NaN when it could not be checked")
+                    .baseUnit("seconds")
+                    .tag("replica", replica.getName())
+                    .register(meterRegistry);
+            Gauge.builder("persons.datasource.replica.in_rotation", replica, r -> r.isInRotation() ? 1 : 0)
+                    .description("Whether read-only transactions are currently routed to the replica")
+                    .tag("replica", replica.getName())
+                    .register(meterRegistry);
+        }
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${persons.replicas.check-interval:2s}")
+    public void check() {
+        for (Replica replica : routingDataSource.getReplicas()) {
+            Duration lag = measureLag(replica);
+            boolean inRotation = lag != null && lag.compareTo(properties.maxLag()) <= 0;
+            if (inRotation && !replica.isInRotation()) {
+                log.info("Replica {} is in rotation, lag {}", replica.getName(), lag);
+            } else if (!inRotation && replica.isInRotation()) {
+                log.warn("Replica {} is out of rotation, lag {} (max {})", replica.getName(),
+                        lag == null ? "unknown" : lag, properties.maxLag());
+            }
+            replica.update(lag, inRotation);
+        }
+    }
+
+    private static Duration measureLag(Replica replica) {
+        try (Connection connection = replica.getDataSource().getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+            resultSet.next();
+            double seconds = resultSet.getDouble(1);
+            return resultSet.wasNull() ? null : Duration.ofMillis(Math.round(seconds * 1000));
+        } catch (SQLException e) {
+            log.warn("Could not check the lag of replica {}: {}", replica.getName(), e.getMessage());
+            return null;
+        }
+    }
+
+    private static double lagSeconds(Replica replica) {
+        Duration lag = replica.getLag();
+        return lag == null ? Double.NaN : lag.toMillis() / 1000.0;
+    }
+}
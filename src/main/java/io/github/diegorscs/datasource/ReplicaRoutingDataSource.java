@@ -0,0 +1,100 @@
+package io.github.diegorscs.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands out read-only connections round-robin over the replicas in rotation, falling back to the primary when none
+ * is, or when the current client has just written (see {@link ReadYourWrites}). Replicas start out of rotation until
+ * {@link ReplicaLagMonitor} has checked them.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    public static final String PRIMARY = "primary";
+
+    private final List<Replica> replicas;
+    private final ReadYourWrites readYourWrites;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, ReadYourWrites readYourWrites) {
+        Map<Object, Object> targets = new LinkedHashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        this.replicas = replicas.entrySet().stream()
+                .map(replica -> new Replica(replica.getKey(), replica.getValue()))
+                .toList();
+        this.readYourWrites = readYourWrites;
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (readYourWrites.isPinned()) {
+            return PRIMARY;
+        }
+        int start = next.getAndIncrement();
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get(Math.floorMod(start + i, replicas.size()));
+            if (replica.isInRotation()) {
+                return replica.getName();
+            }
+        }
+        return PRIMARY;
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.getDataSource() instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    public static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile Duration lag;
+        private volatile boolean inRotation;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public DataSource getDataSource() {
+            return dataSource;
+        }
+
+        /**
+         * Last measured replication lag, or {@code null} when the replica could not be checked.
+         */
+        public Duration getLag() {
+            return lag;
+        }
+
+        public boolean isInRotation() {
+            return inRotation;
+        }
+
+        public void update(Duration lag, boolean inRotation) {
+            this.lag = lag;
+            this.inRotation = inRotation;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package io.github.diegorscs.dto;
+
+import io.github.diegorscs.model.BatchItemStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PersonBatchItemResponse {
+    private int index;
+    private BatchItemStatus status;
+    private PersonResponse person;
+    private String message;
+}
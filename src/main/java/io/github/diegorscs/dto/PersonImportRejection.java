@@ -0,0 +1,15 @@
+package io.github.diegorscs.dto;
+
+import io.github.diegorscs.model.ImportRejectionReason;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PersonImportRejection {
+    private long row;
+    private String email;
+    private ImportRejectionReason reason;
+}
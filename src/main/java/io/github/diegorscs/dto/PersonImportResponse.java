@@ -0,0 +1,17 @@
+package io.github.diegorscs.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PersonImportResponse {
+    private long received;
+    private long imported;
+    private long rejected;
+    private List<PersonImportRejection> rejections;
+}
@@ -0,0 +1,14 @@
+package io.github.diegorscs.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PersonLookupRequest {
+    private List<Long> ids;
+}
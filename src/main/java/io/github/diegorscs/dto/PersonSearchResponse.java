@@ -0,0 +1,15 @@
+package io.github.diegorscs.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PersonSearchResponse {
+    private List<PersonSearchHit> content;
+    private Integer nextPage;
+}
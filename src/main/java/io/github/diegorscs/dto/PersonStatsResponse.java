@@ -0,0 +1,16 @@
+package io.github.diegorscs.dto;
+
+import io.github.diegorscs.model.Gender;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PersonStatsResponse {
+    private long total;
+    private Map<Gender, Long> byGender;
+}
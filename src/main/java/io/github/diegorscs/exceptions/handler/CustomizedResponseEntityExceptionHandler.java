@@ -1,8 +1,13 @@
 package io.github.diegorscs.exceptions.handler;
 
+import io.github.diegorscs.exceptions.BadRequestException;
 import io.github.diegorscs.exceptions.ExceptionResponse;
+import io.github.diegorscs.exceptions.NotImplementedException;
+import io.github.diegorscs.exceptions.PreconditionFailedException;
 import io.github.diegorscs.exceptions.ResourceAlreadyExistsException;
 import io.github.diegorscs.exceptions.ResourceNotFoundException;
+import io.github.diegorscs.exceptions.ServiceUnavailableException;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -13,6 +18,7 @@ import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExcep
 import java.time.LocalDateTime;
 
 @RestControllerAdvice
+@Profile("!reactive")
 public class CustomizedResponseEntityExceptionHandler extends ResponseEntityExceptionHandler {
 
     @ExceptionHandler(Exception.class)
@@ -34,6 +40,34 @@ public class CustomizedResponseEntityExceptionHandler extends ResponseEntityExce
         return ResponseEntity.status(HttpStatus.CONFLICT).body(createExceptionReponse(ex, request));
     }
 
+    @ExceptionHandler(BadRequestException.class)
+    public final ResponseEntity<ExceptionResponse> handleBadRequestException(
+            BadRequestException ex, WebRequest request
+    ) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(createExceptionReponse(ex, request));
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    public final ResponseEntity<ExceptionResponse> handlePreconditionFailedException(
+            PreconditionFailedException ex, WebRequest request
+    ) {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(createExceptionReponse(ex, request));
+    }
+
+    @ExceptionHandler(NotImplementedException.class)
+    public final ResponseEntity<ExceptionResponse> handleNotImplementedException(
+            NotImplementedException ex, WebRequest request
+    ) {
+        return ResponseEntity.status(HttpStatus.NOT_IMPLEMENTED).body(createExceptionReponse(ex, request));
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public final ResponseEntity<ExceptionResponse> handleServiceUnavailableException(
+            ServiceUnavailableException ex, WebRequest request
+    ) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(createExceptionReponse(ex, request));
+    }
+
 
     private ExceptionResponse createExceptionReponse(Exception ex, WebRequest request) {
         return new ExceptionResponse(LocalDateTime.now(), ex.getMessage(), request.getDescription(false));
@@ -0,0 +1,67 @@
+package io.github.diegorscs.exceptions.handler;
+
+import io.github.diegorscs.exceptions.BadRequestException;
+import io.github.diegorscs.exceptions.ExceptionResponse;
+import io.github.diegorscs.exceptions.NotImplementedException;
+import io.github.diegorscs.exceptions.PreconditionFailedException;
+import io.github.diegorscs.exceptions.ResourceAlreadyExistsException;
+import io.github.diegorscs.exceptions.ResourceNotFoundException;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.reactive.result.method.annotation.ResponseEntityExceptionHandler;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.time.LocalDateTime;
+
+@Profile("reactive")
+@RestControllerAdvice
+public class ReactiveExceptionHandler extends ResponseEntityExceptionHandler {
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ExceptionResponse> handleAllException(Exception ex, ServerWebExchange exchange) {
+        return ResponseEntity.internalServerError().body(createExceptionResponse(ex, exchange));
+    }
+
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public ResponseEntity<ExceptionResponse> handleResourceNotFoundException(
+            ResourceNotFoundException ex, ServerWebExchange exchange
+    ) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(createExceptionResponse(ex, exchange));
+    }
+
+    @ExceptionHandler(ResourceAlreadyExistsException.class)
+    public ResponseEntity<ExceptionResponse> handleResourceAlreadyExistsException(
+            ResourceAlreadyExistsException ex, ServerWebExchange exchange
+    ) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(createExceptionResponse(ex, exchange));
+    }
+
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<ExceptionResponse> handleBadRequestException(
+            BadRequestException ex, ServerWebExchange exchange
+    ) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(createExceptionResponse(ex, exchange));
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ExceptionResponse> handlePreconditionFailedException(
+            PreconditionFailedException ex, ServerWebExchange exchange
+    ) {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(createExceptionResponse(ex, exchange));
+    }
+
+    @ExceptionHandler(NotImplementedException.class)
+    public ResponseEntity<ExceptionResponse> handleNotImplementedException(
+            NotImplementedException ex, ServerWebExchange exchange
+    ) {
+        return ResponseEntity.status(HttpStatus.NOT_IMPLEMENTED).body(createExceptionResponse(ex, exchange));
+    }
+
+    private ExceptionResponse createExceptionResponse(Exception ex, ServerWebExchange exchange) {
+        return new ExceptionResponse(LocalDateTime.now(), ex.getMessage(),
+                "uri=" + exchange.getRequest().getPath().value());
+    }
+}
@@ -0,0 +1,120 @@
+package io.github.diegorscs.logging;
+
+import io.github.diegorscs.config.RequestLoggingProperties;
+import io.github.diegorscs.metrics.SqlStatementMetricsFilter;
+import io.github.diegorscs.util.RequestUtils;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.slf4j.spi.LoggingEventBuilder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Tags each request with a correlation id (taken from {@value #CORRELATION_ID_HEADER} or generated) and writes one
+ * access record with its status, duration and SQL statement count. Fast successful requests are sampled at
+ * {@code sample-rate}; slow requests and server errors are always logged.
+ */
+@RequiredArgsConstructor
+public class RequestLoggingFilter extends OncePerRequestFilter {
+
+    public static final String CORRELATION_ID_HEADER = "X-Correlation-Id";
+    public static final String CORRELATION_ID_KEY = "correlationId";
+    public static final String LOGGER_NAME = "io.github.diegorscs.access";
+
+    private static final Logger log = LoggerFactory.getLogger(LOGGER_NAME);
+    private static final Pattern VALID_CORRELATION_ID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+    private final RequestLoggingProperties properties;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String correlationId = correlationId(request);
+        long start = System.nanoTime();
+        MDC.put(CORRELATION_ID_KEY, correlationId);
+        response.setHeader(CORRELATION_ID_HEADER, correlationId);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new AsyncCompletionListener(correlationId, start));
+            } else {
+                log(request, response, start);
+            }
+            MDC.remove(CORRELATION_ID_KEY);
+        }
+    }
+
+    private void log(HttpServletRequest request, HttpServletResponse response, long start) {
+        long durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        int status = response.getStatus();
+        if (!log.isInfoEnabled() || !shouldLog(status, durationMs)) {
+            return;
+        }
+        LoggingEventBuilder event = log.atInfo()
+                .addKeyValue("method", request.getMethod())
+                .addKeyValue("uri", RequestUtils.uriTemplate(request))
+                .addKeyValue("status", status)
+                .addKeyValue("durationMs", durationMs);
+        Object statements = request.getAttribute(SqlStatementMetricsFilter.SQL_STATEMENTS_ATTRIBUTE);
+        if (statements != null) {
+            event = event.addKeyValue("sqlStatements", statements);
+        }
+        event.log("{} {} {} {}ms", request.getMethod(), request.getRequestURI(), status, durationMs);
+    }
+
+    private boolean shouldLog(int status, long durationMs) {
+        return status >= 500
+                || durationMs >= properties.slowThreshold().toMillis()
+                || ThreadLocalRandom.current().nextDouble() < properties.sampleRate();
+    }
+
+    private static String correlationId(HttpServletRequest request) {
+        String header = request.getHeader(CORRELATION_ID_HEADER);
+        return header != null && VALID_CORRELATION_ID.matcher(header).matches()
+                ? header
+                : UUID.randomUUID().toString();
+    }
+
+    @RequiredArgsConstructor
+    private class AsyncCompletionListener implements AsyncListener {
+
+        private final String correlationId;
+        private final long start;
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            MDC.put(CORRELATION_ID_KEY, correlationId);
+            try {
+                log((HttpServletRequest) event.getSuppliedRequest(), (HttpServletResponse) event.getSuppliedResponse(), start);
+            } finally {
+                MDC.remove(CORRELATION_ID_KEY);
+            }
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
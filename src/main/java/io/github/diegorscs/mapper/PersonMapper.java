@@ -1,9 +1,18 @@
 package io.github.diegorscs.mapper;
 
+import io.github.diegorscs.dto.PersonBatchItemResponse;
+import io.github.diegorscs.dto.PersonLookupResponse;
+import io.github.diegorscs.dto.PersonPageResponse;
 import io.github.diegorscs.dto.PersonRequest;
 import io.github.diegorscs.dto.PersonResponse;
+import io.github.diegorscs.model.BatchItem;
+import io.github.diegorscs.model.BatchItemStatus;
 import io.github.diegorscs.model.Person;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
 public class PersonMapper {
     public static PersonResponse toResponse(Person person) {
         return new PersonResponse(
@@ -25,4 +34,42 @@ public class PersonMapper {
                 request.getEmail()
         );
     }
+
+    public static PersonBatchItemResponse toBatchItemResponse(int index, BatchItem item) {
+        return new PersonBatchItemResponse(
+                index,
+                item.getStatus(),
+                item.getStatus() == BatchItemStatus.CREATED ? toResponse(item.getPerson()) : null,
+                item.getMessage()
+        );
+    }
+
+    /**
+     * Builds a keyset page from up to {@code limit + 1} rows: the extra row only tells that another page exists, so
+     * a page that ends exactly on the last person carries no cursor.
+     */
+    public static PersonPageResponse toPageResponse(List<PersonResponse> rows, int limit) {
+        if (rows.size() > limit) {
+            List<PersonResponse> content = rows.subList(0, limit);
+            return new PersonPageResponse(content, CursorMapper.encode(content.get(limit - 1).getId()));
+        }
+        return new PersonPageResponse(rows, null);
+    }
+
+    /**
+     * Answers a lookup in the order the ids were asked for, listing the ids that matched no person as missing.
+     */
+    public static PersonLookupResponse toLookupResponse(List<Long> ids, Map<Long, PersonResponse> found) {
+        List<PersonResponse> content = new ArrayList<>(found.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            PersonResponse person = found.get(id);
+            if (person == null) {
+                missing.add(id);
+            } else {
+                content.add(person);
+            }
+        }
+        return new PersonLookupResponse(content, missing);
+    }
 }
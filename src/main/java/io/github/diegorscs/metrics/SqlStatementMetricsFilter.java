@@ -0,0 +1,47 @@
+package io.github.diegorscs.metrics;
+
+import io.github.diegorscs.util.RequestUtils;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Records how many SQL statements each request issued, tagged like {@code http.server.requests}.
+ */
+@RequiredArgsConstructor
+public class SqlStatementMetricsFilter extends OncePerRequestFilter {
+
+    public static final String METRIC_NAME = "http.server.requests.sql.statements";
+    public static final String SQL_STATEMENTS_ATTRIBUTE = SqlStatementMetricsFilter.class.getName() + ".statements";
+
+    private final SqlStatementCounter sqlStatementCounter;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        sqlStatementCounter.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            int statements = sqlStatementCounter.stop();
+            if (!request.isAsyncStarted()) {
+                request.setAttribute(SQL_STATEMENTS_ATTRIBUTE, statements);
+                DistributionSummary.builder(METRIC_NAME)
+                        .baseUnit("statements")
+                        .tag("method", request.getMethod())
+                        .tag("uri", RequestUtils.uriTemplate(request))
+                        .tag("status", String.valueOf(response.getStatus()))
+                        .register(meterRegistry)
+                        .record(statements);
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package io.github.diegorscs.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class BatchItem {
+    private Person person;
+    private BatchItemStatus status;
+    private String message;
+
+    public static BatchItem created(Person person) {
+        return new BatchItem(person, BatchItemStatus.CREATED, null);
+    }
+
+    public static BatchItem conflict(Person person, String message) {
+        return new BatchItem(person, BatchItemStatus.CONFLICT, message);
+    }
+}
@@ -0,0 +1,5 @@
+package io.github.diegorscs.model;
+
+public enum BatchItemStatus {
+    CREATED, CONFLICT
+}
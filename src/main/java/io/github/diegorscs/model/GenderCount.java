@@ -0,0 +1,4 @@
+package io.github.diegorscs.model;
+
+public record GenderCount(Gender gender, Long total) {
+}
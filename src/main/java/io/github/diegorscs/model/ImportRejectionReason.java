@@ -0,0 +1,5 @@
+package io.github.diegorscs.model;
+
+public enum ImportRejectionReason {
+    MISSING_FIELD, FIELD_TOO_LONG, INVALID_GENDER, INVALID_EMAIL, DUPLICATE_EMAIL, EMAIL_ALREADY_EXISTS
+}
@@ -11,7 +11,8 @@ import lombok.*;
 @AllArgsConstructor
 public class Person {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "person_id_seq")
+    @SequenceGenerator(name = "person_id_seq", sequenceName = "person_id_seq", allocationSize = 50)
     private Long id;
     private String firstName;
     private String lastName;
@@ -19,6 +20,8 @@ public class Person {
     @Enumerated(EnumType.STRING)
     private Gender gender;
     private String email;
+    @Version
+    private Long version;
 
     public Person(String firstName, String lastName, String address, Gender gender, String email) {
         this.firstName = firstName;
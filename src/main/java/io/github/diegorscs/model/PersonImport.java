@@ -0,0 +1,13 @@
+package io.github.diegorscs.model;
+
+import io.github.diegorscs.dto.PersonImportRejection;
+
+import java.util.List;
+
+public record PersonImport(long received, List<GenderCount> imported, long rejected,
+                           List<PersonImportRejection> rejections) {
+
+    public long importedTotal() {
+        return imported.stream().mapToLong(GenderCount::total).sum();
+    }
+}
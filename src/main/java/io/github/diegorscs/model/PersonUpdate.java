@@ -0,0 +1,4 @@
+package io.github.diegorscs.model;
+
+public record PersonUpdate(Person person, Gender previousGender) {
+}
@@ -0,0 +1,14 @@
+package io.github.diegorscs.repository;
+
+import io.github.diegorscs.model.PersonImport;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+
+public interface PersonCopyRepository {
+
+    PersonImport importCsv(InputStream csv, int maxRejections);
+
+    long exportCsv(OutputStream csv);
+
+}
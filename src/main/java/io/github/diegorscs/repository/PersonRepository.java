@@ -1,18 +1,58 @@
 package io.github.diegorscs.repository;
 
+import io.github.diegorscs.dto.PersonResponse;
+import io.github.diegorscs.model.GenderCount;
 import io.github.diegorscs.model.Person;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
-public interface PersonRepository extends JpaRepository<Person, Long> {
+public interface PersonRepository extends JpaRepository<Person, Long>, PersonSearchRepository, PersonCopyRepository,
+        PersonWriteRepository {
 
-    Optional<Person> findByEmail(String email);
+    String RESPONSE_PROJECTION = "new io.github.diegorscs.dto.PersonResponse("
+            + "p.id, p.firstName, p.lastName, p.address, p.gender, p.email)";
 
-    @Query("SELECT p FROM Person p WHERE LOWER(CONCAT(p.firstName, ' ', p.lastName)) LIKE LOWER(CONCAT('%', :name, '%'))")
-    List<Person> findByLikeName(@Param("name") String name);
+    @Transactional(readOnly = true)
+    @Query("SELECT p FROM Person p WHERE LOWER(p.email) = LOWER(:email)")
+    Optional<Person> findByEmail(@Param("email") String email);
+
+    @Transactional(readOnly = true)
+    @Query("SELECT p.version FROM Person p WHERE p.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query("SELECT new io.github.diegorscs.model.GenderCount(p.gender, COUNT(p)) FROM Person p GROUP BY p.gender")
+    List<GenderCount> countByGender();
+
+    @Query("SELECT LOWER(p.email) FROM Person p WHERE LOWER(p.email) IN :emails")
+    Set<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Query("SELECT " + RESPONSE_PROJECTION + " FROM Person p ORDER BY p.id")
+    List<PersonResponse> findAllResponses();
+
+    @Query("SELECT " + RESPONSE_PROJECTION + " FROM Person p WHERE p.id IN :ids")
+    List<PersonResponse> findResponsesByIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT " + RESPONSE_PROJECTION + " FROM Person p WHERE p.id > :after ORDER BY p.id")
+    List<PersonResponse> findResponsesAfter(@Param("after") Long after, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT " + RESPONSE_PROJECTION + " FROM Person p ORDER BY p.id")
+    Stream<PersonResponse> streamAllResponses();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT LOWER(p.email) FROM Person p")
+    Stream<String> streamNormalizedEmails();
 
 }
@@ -0,0 +1,14 @@
+package io.github.diegorscs.repository;
+
+import io.github.diegorscs.dto.PersonResponse;
+import io.github.diegorscs.dto.PersonSearchHit;
+
+import java.util.List;
+
+public interface PersonSearchRepository {
+
+    List<PersonResponse> searchByName(String term, int limit);
+
+    List<PersonSearchHit> search(List<String> terms, int offset, int limit, boolean highlight);
+
+}
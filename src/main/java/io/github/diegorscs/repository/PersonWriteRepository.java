@@ -0,0 +1,16 @@
+package io.github.diegorscs.repository;
+
+import io.github.diegorscs.model.Gender;
+import io.github.diegorscs.model.Person;
+
+import java.util.Optional;
+
+public interface PersonWriteRepository {
+
+    Optional<Gender> updatePerson(Long id, Person person);
+
+    Optional<Gender> updatePersonIfVersion(Long id, Long version, Person person);
+
+    Optional<Gender> deletePerson(Long id);
+
+}
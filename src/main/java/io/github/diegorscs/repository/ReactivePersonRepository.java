@@ -0,0 +1,43 @@
+package io.github.diegorscs.repository;
+
+import io.github.diegorscs.dto.PersonResponse;
+import io.github.diegorscs.dto.PersonSearchHit;
+import io.github.diegorscs.model.Gender;
+import io.github.diegorscs.model.Person;
+import io.github.diegorscs.model.PersonUpdate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ReactivePersonRepository {
+
+    Flux<PersonResponse> findAll();
+
+    Flux<PersonResponse> findAfter(Long after, int limit);
+
+    Mono<Person> findById(Long id);
+
+    Flux<PersonResponse> findByIds(Collection<Long> ids);
+
+    Mono<Long> findVersionById(Long id);
+
+    Mono<Person> findByEmail(String email);
+
+    Flux<String> findExistingEmails(Collection<String> emails);
+
+    Flux<PersonResponse> searchByName(String term, int limit);
+
+    Flux<PersonSearchHit> search(List<String> terms, int offset, int limit, boolean highlight);
+
+    Mono<Person> insert(Person person);
+
+    Mono<PersonUpdate> update(Long id, Person person);
+
+    Mono<PersonUpdate> updateIfVersion(Long id, Long version, Person person);
+
+    Mono<Boolean> existsById(Long id);
+
+    Mono<Gender> deleteById(Long id);
+}
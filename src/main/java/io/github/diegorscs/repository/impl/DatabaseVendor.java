@@ -0,0 +1,26 @@
+package io.github.diegorscs.repository.impl;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.stereotype.Component;
+
+/**
+ * The database behind the JPA repositories, read from the Hibernate dialect, for the repository fragments that run
+ * PostgreSQL-specific SQL and fall back to portable SQL or H2 syntax elsewhere.
+ */
+@Component
+public class DatabaseVendor {
+
+    private final boolean postgres;
+
+    public DatabaseVendor(EntityManagerFactory entityManagerFactory) {
+        this.postgres = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices()
+                .getDialect() instanceof PostgreSQLDialect;
+    }
+
+    public boolean isPostgres() {
+        return postgres;
+    }
+}
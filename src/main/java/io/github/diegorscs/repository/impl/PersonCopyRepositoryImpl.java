@@ -0,0 +1,269 @@
+package io.github.diegorscs.repository.impl;
+
+import io.github.diegorscs.dto.PersonImportRejection;
+import io.github.diegorscs.exceptions.BadRequestException;
+import io.github.diegorscs.exceptions.NotImplementedException;
+import io.github.diegorscs.model.Gender;
+import io.github.diegorscs.model.GenderCount;
+import io.github.diegorscs.model.ImportRejectionReason;
+import io.github.diegorscs.model.PersonImport;
+import io.github.diegorscs.repository.PersonCopyRepository;
+import io.github.diegorscs.util.CsvUtils;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.postgresql.PGConnection;
+
+import java.io.IOException;
+import java.io.BufferedWriter;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk CSV import and export through the PostgreSQL {@code COPY} protocol. Imports are streamed straight from
+ * the caller into a temporary staging table, validated and de-duplicated in one set-based pass, and merged into
+ * {@code person} with a single {@code INSERT ... SELECT}; exports pipe the driver's {@code COPY TO STDOUT}
+ * stream into the caller's. Either way memory use does not depend on the number of rows.
+ */
+public class PersonCopyRepositoryImpl implements PersonCopyRepository {
+
+    /**
+     * Must match the {@code allocationSize} of the {@code person_id_seq} generator: every {@code nextval} hands
+     * out a block of ids the same way Hibernate's pooled optimizer does, instead of burning one value per row.
+     */
+    private static final int ID_ALLOCATION_SIZE = 50;
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private static final String CREATE_STAGING_TABLE = """
+            CREATE TEMP TABLE person_import (
+                csv_row BIGINT GENERATED ALWAYS AS IDENTITY,
+                first_name TEXT,
+                last_name TEXT,
+                address TEXT,
+                gender TEXT,
+                email TEXT
+            ) ON COMMIT DROP
+            """;
+
+    private static final String COPY_INTO_STAGING_TABLE = """
+            COPY person_import (first_name, last_name, address, gender, email)
+            FROM STDIN WITH (FORMAT csv, HEADER true)
+            """;
+
+    private static final String VALIDATE = """
+            CREATE TEMP TABLE person_import_result ON COMMIT DROP AS
+            SELECT s.csv_row, s.first_name, s.last_name, s.address, s.gender, s.email,
+                   CASE
+                       WHEN s.problem IS NOT NULL THEN s.problem
+                       WHEN row_number() OVER (PARTITION BY lower(s.email), s.problem IS NULL
+                                               ORDER BY s.csv_row) > 1 THEN 'DUPLICATE_EMAIL'
+                       WHEN p.id IS NOT NULL THEN 'EMAIL_ALREADY_EXISTS'
+                   END AS reason
+            FROM (
+                SELECT i.*,
+                       CASE
+                           WHEN coalesce(trim(i.first_name), '') = '' OR coalesce(trim(i.last_name), '') = ''
+                               OR coalesce(trim(i.address), '') = '' OR coalesce(trim(i.gender), '') = ''
+                               OR coalesce(trim(i.email), '') = '' THEN 'MISSING_FIELD'
+                           WHEN length(i.first_name) > 80 OR length(i.last_name) > 80
+                               OR length(i.address) > 100 OR length(i.email) > 100 THEN 'FIELD_TOO_LONG'
+                           WHEN i.gender NOT IN (%s) THEN 'INVALID_GENDER'
+                           WHEN i.email !~ '^[^@\\s]+@[^@\\s]+$' THEN 'INVALID_EMAIL'
+                       END AS problem
+                FROM person_import i
+            ) s
+            LEFT JOIN person p ON lower(p.email) = lower(s.email) AND s.problem IS NULL
+            """.formatted(Arrays.stream(Gender.values())
+            .map(gender -> "'" + gender.name() + "'")
+            .collect(Collectors.joining(", ")));
+
+    private static final String COUNT_ACCEPTED = """
+            SELECT count(*) FILTER (WHERE reason IS NULL), count(*) FROM person_import_result
+            """;
+
+    /*
+     * Rows that lose a race with a concurrent insert of the same e-mail are skipped by ON CONFLICT on
+     * ux_person_email and then reported as EMAIL_ALREADY_EXISTS, so the import never fails halfway. Any other
+     * conflict, such as an id already taken, is a bug in the id allocation and fails the import.
+     */
+    private static final String MERGE = """
+            WITH accepted AS (
+                SELECT r.*, row_number() OVER (ORDER BY r.csv_row) - 1 AS position
+                FROM person_import_result r
+                WHERE r.reason IS NULL
+            ), blocks AS (
+                SELECT row_number() OVER (ORDER BY b.hi) - 1 AS block, b.hi
+                FROM (SELECT nextval('person_id_seq') AS hi FROM generate_series(0, ?)) b
+                WHERE b.hi >= %1$d
+            ), inserted AS (
+                INSERT INTO person (id, first_name, last_name, address, gender, email)
+                SELECT b.hi - %1$d + 1 + a.position %% %1$d, a.first_name, a.last_name, a.address, a.gender, a.email
+                FROM accepted a
+                JOIN blocks b ON b.block = a.position / %1$d
+                ON CONFLICT (lower(email)) DO NOTHING
+                RETURNING lower(email) AS email, gender
+            ), conflicted AS (
+                UPDATE person_import_result r SET reason = 'EMAIL_ALREADY_EXISTS'
+                WHERE r.reason IS NULL AND NOT EXISTS (SELECT 1 FROM inserted i WHERE i.email = lower(r.email))
+            )
+            SELECT gender, count(*) FROM inserted GROUP BY gender
+            """.formatted(ID_ALLOCATION_SIZE);
+
+    private static final String FIND_REJECTIONS = """
+            SELECT csv_row, email, reason FROM person_import_result
+            WHERE reason IS NOT NULL
+            ORDER BY csv_row
+            LIMIT ?
+            """;
+
+    private static final String EXPORT_COLUMNS = """
+            SELECT id AS "id", first_name AS "firstName", last_name AS "lastName", address AS "address",
+                   gender AS "gender", email AS "email"
+            FROM person
+            ORDER BY id
+            """;
+
+    private static final String COPY_EXPORT = "COPY (" + EXPORT_COLUMNS + ") TO STDOUT WITH (FORMAT csv, HEADER true)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final DatabaseVendor databaseVendor;
+
+    public PersonCopyRepositoryImpl(DatabaseVendor databaseVendor) {
+        this.databaseVendor = databaseVendor;
+    }
+
+    @Override
+    public PersonImport importCsv(InputStream csv, int maxRejections) {
+        if (!databaseVendor.isPostgres()) {
+            throw new NotImplementedException("CSV import requires PostgreSQL");
+        }
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(CREATE_STAGING_TABLE);
+                copy(connection, csv);
+                statement.execute("ANALYZE person_import");
+                statement.execute(VALIDATE);
+            }
+
+            long accepted;
+            long received;
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(COUNT_ACCEPTED)) {
+                resultSet.next();
+                accepted = resultSet.getLong(1);
+                received = resultSet.getLong(2);
+            }
+
+            List<GenderCount> imported = accepted == 0 ? List.of() : merge(connection, accepted);
+            long importedTotal = imported.stream().mapToLong(GenderCount::total).sum();
+            return new PersonImport(received, imported, received - importedTotal,
+                    findRejections(connection, maxRejections));
+        });
+    }
+
+    @Override
+    public long exportCsv(OutputStream csv) {
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try {
+                if (databaseVendor.isPostgres()) {
+                    return connection.unwrap(PGConnection.class).getCopyAPI().copyOut(COPY_EXPORT, csv);
+                }
+                return writeCsv(connection, csv);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private static void copy(Connection connection, InputStream csv) throws SQLException {
+        try {
+            connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_INTO_STAGING_TABLE, csv, COPY_BUFFER_SIZE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (SQLException e) {
+            if (e.getSQLState() != null && e.getSQLState().startsWith("22")) {
+                throw new BadRequestException("Invalid CSV: " + e.getMessage());
+            }
+            throw e;
+        }
+    }
+
+    private static List<GenderCount> merge(Connection connection, long accepted) throws SQLException {
+        long blocks = (accepted + ID_ALLOCATION_SIZE - 1) / ID_ALLOCATION_SIZE;
+        List<GenderCount> imported = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(MERGE)) {
+            statement.setLong(1, blocks);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    imported.add(new GenderCount(Gender.valueOf(resultSet.getString(1)), resultSet.getLong(2)));
+                }
+            }
+        }
+        return imported;
+    }
+
+    private static List<PersonImportRejection> findRejections(Connection connection, int maxRejections)
+            throws SQLException {
+        List<PersonImportRejection> rejections = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(FIND_REJECTIONS)) {
+            statement.setInt(1, maxRejections);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    rejections.add(new PersonImportRejection(resultSet.getLong(1), resultSet.getString(2),
+                            ImportRejectionReason.valueOf(resultSet.getString(3))));
+                }
+            }
+        }
+        return rejections;
+    }
+
+    /**
+     * Fallback for databases without {@code COPY} (H2 in development): the same CSV written from a forward-only
+     * result set, still without mapping rows to entities.
+     */
+    private static long writeCsv(Connection connection, OutputStream csv) throws SQLException, IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(csv, StandardCharsets.UTF_8), COPY_BUFFER_SIZE);
+        long rows = 0;
+        try (Statement statement = connection.createStatement()) {
+            statement.setFetchSize(COPY_BUFFER_SIZE / 256);
+            try (ResultSet resultSet = statement.executeQuery(EXPORT_COLUMNS)) {
+                int columns = resultSet.getMetaData().getColumnCount();
+                for (int column = 1; column <= columns; column++) {
+                    writeField(writer, column, resultSet.getMetaData().getColumnLabel(column));
+                }
+                writer.write('\n');
+                while (resultSet.next()) {
+                    for (int column = 1; column <= columns; column++) {
+                        writeField(writer, column, resultSet.getString(column));
+                    }
+                    writer.write('\n');
+                    rows++;
+                }
+            }
+        }
+        writer.flush();
+        return rows;
+    }
+
+    private static void writeField(Writer writer, int column, String value) throws IOException {
+        if (column > 1) {
+            writer.write(',');
+        }
+        writer.write(CsvUtils.escape(value));
+    }
+}
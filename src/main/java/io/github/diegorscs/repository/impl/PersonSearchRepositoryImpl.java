@@ -0,0 +1,128 @@
+package io.github.diegorscs.repository.impl;
+
+import io.github.diegorscs.dto.PersonResponse;
+import io.github.diegorscs.dto.PersonSearchHit;
+import io.github.diegorscs.model.Gender;
+import io.github.diegorscs.model.Person;
+import io.github.diegorscs.repository.PersonRepository;
+import io.github.diegorscs.repository.PersonSearchRepository;
+import io.github.diegorscs.util.SearchUtils;
+import io.github.diegorscs.util.SqlUtils;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class PersonSearchRepositoryImpl implements PersonSearchRepository {
+
+    private static final String POSTGRES_SEARCH_BY_NAME = """
+            SELECT p.id, p.first_name, p.last_name, p.address, p.gender, p.email FROM person p
+            WHERE lower(p.first_name || ' ' || p.last_name) LIKE :pattern
+            ORDER BY similarity(lower(p.first_name || ' ' || p.last_name), :term) DESC, p.id
+            LIMIT :limit
+            """;
+
+    private static final String JPQL_SEARCH_BY_NAME = """
+            SELECT %s FROM Person p
+            WHERE LOWER(CONCAT(p.firstName, ' ', p.lastName)) LIKE :pattern
+            ORDER BY LOCATE(:term, LOWER(CONCAT(p.firstName, ' ', p.lastName))), p.id
+            """.formatted(PersonRepository.RESPONSE_PROJECTION);
+
+    /*
+     * Ranks and pages inside the subquery, which the GIN index on search_vector serves, so ts_headline (the
+     * expensive part) only runs for the rows of the requested page. Shared with the R2DBC repository.
+     */
+    static final String POSTGRES_SEARCH = """
+            SELECT p.id, p.first_name, p.last_name, p.address, p.gender, p.email, p.rank, %s
+            FROM (
+                SELECT p.id, p.first_name, p.last_name, p.address, p.gender, p.email,
+                       ts_rank(p.search_vector, q.query) AS rank
+                FROM person p, to_tsquery('simple', :query) q(query)
+                WHERE p.search_vector @@ q.query
+                ORDER BY rank DESC, p.id
+                LIMIT :limit OFFSET :offset
+            ) p
+            ORDER BY p.rank DESC, p.id
+            """;
+
+    static final String POSTGRES_HIGHLIGHT = """
+            ts_headline('simple', p.first_name || ' ' || p.last_name || ', ' || p.address,
+                        to_tsquery('simple', :query), 'StartSel=<mark>, StopSel=</mark>, HighlightAll=true')""";
+
+    private static final String JPQL_SEARCH = """
+            SELECT p FROM Person p
+            WHERE %s
+            ORDER BY p.id
+            """;
+
+    private static final String JPQL_SEARCH_TERM =
+            "LOWER(CONCAT(p.firstName, ' ', p.lastName, ' ', p.address)) LIKE :term%d";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final DatabaseVendor databaseVendor;
+
+    public PersonSearchRepositoryImpl(DatabaseVendor databaseVendor) {
+        this.databaseVendor = databaseVendor;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<PersonResponse> searchByName(String term, int limit) {
+        String normalizedTerm = term.toLowerCase(Locale.ROOT);
+        String pattern = "%" + SqlUtils.escapeLike(normalizedTerm) + "%";
+
+        if (databaseVendor.isPostgres()) {
+            List<Object[]> rows = entityManager.createNativeQuery(POSTGRES_SEARCH_BY_NAME)
+                    .setParameter("pattern", pattern)
+                    .setParameter("term", normalizedTerm)
+                    .setParameter("limit", limit)
+                    .getResultList();
+            return rows.stream()
+                    .map(row -> new PersonResponse(((Number) row[0]).longValue(), (String) row[1], (String) row[2],
+                            (String) row[3], Gender.valueOf((String) row[4]), (String) row[5]))
+                    .toList();
+        }
+
+        return entityManager.createQuery(JPQL_SEARCH_BY_NAME, PersonResponse.class)
+                .setParameter("pattern", pattern)
+                .setParameter("term", normalizedTerm)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<PersonSearchHit> search(List<String> terms, int offset, int limit, boolean highlight) {
+        if (databaseVendor.isPostgres()) {
+            List<Object[]> rows = entityManager.createNativeQuery(
+                            POSTGRES_SEARCH.formatted(highlight ? POSTGRES_HIGHLIGHT : "NULL"))
+                    .setParameter("query", SearchUtils.toPrefixTsQuery(terms))
+                    .setParameter("limit", limit)
+                    .setParameter("offset", offset)
+                    .getResultList();
+            return rows.stream()
+                    .map(row -> new PersonSearchHit(((Number) row[0]).longValue(), (String) row[1], (String) row[2],
+                            (String) row[3], Gender.valueOf((String) row[4]), (String) row[5],
+                            ((Number) row[6]).doubleValue(), (String) row[7]))
+                    .toList();
+        }
+
+        String where = IntStream.range(0, terms.size())
+                .mapToObj(JPQL_SEARCH_TERM::formatted)
+                .collect(Collectors.joining(" AND "));
+        TypedQuery<Person> query = entityManager.createQuery(JPQL_SEARCH.formatted(where), Person.class);
+        IntStream.range(0, terms.size()).forEach(index -> query.setParameter("term" + index, "%" + terms.get(index) + "%"));
+        return query.setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultStream()
+                .map(person -> new PersonSearchHit(person.getId(), person.getFirstName(), person.getLastName(),
+                        person.getAddress(), person.getGender(), person.getEmail(), 0, null))
+                .toList();
+    }
+}
@@ -0,0 +1,96 @@
+package io.github.diegorscs.repository.impl;
+
+import io.github.diegorscs.model.Gender;
+import io.github.diegorscs.model.Person;
+import io.github.diegorscs.repository.PersonWriteRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Updates and deletes that return the gender the row had before the write, from the write itself, so the person
+ * counters are kept in one statement and the gender cannot change between reading it and writing the row. Each
+ * returns empty when no row matched.
+ */
+public class PersonWriteRepositoryImpl implements PersonWriteRepository {
+
+    /*
+     * RETURNING only sees the new row, so the old gender comes from a subquery on the same row; FOR UPDATE makes it
+     * wait for, and then re-read, a concurrent write to the row instead of returning the gender it replaced.
+     */
+    private static final String POSTGRES_UPDATE = """
+            UPDATE person p
+            SET first_name = :firstName, last_name = :lastName, address = :address,
+                gender = :gender, email = :email, version = p.version + 1
+            FROM (SELECT id, gender FROM person WHERE id = :id FOR UPDATE) previous
+            WHERE p.id = previous.id%s
+            RETURNING previous.gender
+            """;
+
+    private static final String POSTGRES_DELETE = "DELETE FROM person WHERE id = :id RETURNING gender";
+
+    private static final String H2_UPDATE = """
+            SELECT gender FROM OLD TABLE (
+                UPDATE person
+                SET first_name = :firstName, last_name = :lastName, address = :address,
+                    gender = :gender, email = :email, version = version + 1
+                WHERE id = :id%s
+            )
+            """;
+
+    private static final String H2_DELETE = "SELECT gender FROM OLD TABLE (DELETE FROM person WHERE id = :id)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final DatabaseVendor databaseVendor;
+
+    public PersonWriteRepositoryImpl(DatabaseVendor databaseVendor) {
+        this.databaseVendor = databaseVendor;
+    }
+
+    @Override
+    public Optional<Gender> updatePerson(Long id, Person person) {
+        return previousGender(bindUpdate(update(""), id, person));
+    }
+
+    @Override
+    public Optional<Gender> updatePersonIfVersion(Long id, Long version, Person person) {
+        String versionCheck = databaseVendor.isPostgres() ? " AND p.version = :version" : " AND version = :version";
+        return previousGender(bindUpdate(update(versionCheck), id, person).setParameter("version", version));
+    }
+
+    @Override
+    public Optional<Gender> deletePerson(Long id) {
+        return previousGender(entityManager.createNativeQuery(databaseVendor.isPostgres() ? POSTGRES_DELETE : H2_DELETE)
+                .setParameter("id", id));
+    }
+
+    private Query update(String versionCheck) {
+        return entityManager.createNativeQuery((databaseVendor.isPostgres() ? POSTGRES_UPDATE : H2_UPDATE).formatted(versionCheck));
+    }
+
+    private static Query bindUpdate(Query query, Long id, Person person) {
+        return query
+                .setParameter("id", id)
+                .setParameter("firstName", person.getFirstName())
+                .setParameter("lastName", person.getLastName())
+                .setParameter("address", person.getAddress())
+                .setParameter("gender", person.getGender().name())
+                .setParameter("email", person.getEmail());
+    }
+
+    /**
+     * Runs the write with pending changes flushed first, and clears the persistence context afterwards so the
+     * person is read back as written, as {@code @Modifying(flushAutomatically, clearAutomatically)} would.
+     */
+    private Optional<Gender> previousGender(Query write) {
+        entityManager.flush();
+        List<?> rows = write.getResultList();
+        entityManager.clear();
+        return rows.stream().findFirst().map(gender -> Gender.valueOf(gender.toString()));
+    }
+}
@@ -0,0 +1,222 @@
+package io.github.diegorscs.repository.impl;
+
+import io.github.diegorscs.dto.PersonResponse;
+import io.github.diegorscs.dto.PersonSearchHit;
+import io.github.diegorscs.model.Gender;
+import io.github.diegorscs.model.Person;
+import io.github.diegorscs.model.PersonUpdate;
+import io.github.diegorscs.repository.ReactivePersonRepository;
+import io.github.diegorscs.util.SearchUtils;
+import io.github.diegorscs.util.SqlUtils;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+@Repository
+@Profile("reactive")
+@RequiredArgsConstructor
+public class R2dbcPersonRepository implements ReactivePersonRepository {
+
+    private static final int FETCH_SIZE = 500;
+    private static final String COLUMNS = "id, first_name, last_name, address, gender, email, version";
+
+    /*
+     * Returns the updated row along with the gender it had before, read and locked by the subquery (see
+     * PersonWriteRepositoryImpl), so the person counters need no separate read.
+     */
+    private static final String UPDATE = """
+            UPDATE person p
+            SET first_name = :firstName, last_name = :lastName, address = :address,
+                gender = :gender, email = :email, version = p.version + 1
+            FROM (SELECT id, gender FROM person WHERE id = :id FOR UPDATE) previous
+            WHERE p.id = previous.id%s
+            RETURNING p.id, p.first_name, p.last_name, p.address, p.gender, p.email, p.version,
+                      previous.gender AS previous_gender
+            """;
+
+    private final DatabaseClient databaseClient;
+
+    @Override
+    public Flux<PersonResponse> findAll() {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM person ORDER BY id")
+                .filter(statement -> statement.fetchSize(FETCH_SIZE))
+                .map(R2dbcPersonRepository::toResponse)
+                .all();
+    }
+
+    @Override
+    public Flux<PersonResponse> findAfter(Long after, int limit) {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM person WHERE id > :after ORDER BY id LIMIT :limit")
+                .bind("after", after)
+                .bind("limit", limit)
+                .map(R2dbcPersonRepository::toResponse)
+                .all();
+    }
+
+    @Override
+    public Mono<Person> findById(Long id) {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM person WHERE id = :id")
+                .bind("id", id)
+                .map(R2dbcPersonRepository::toPerson)
+                .one();
+    }
+
+    @Override
+    public Flux<PersonResponse> findByIds(Collection<Long> ids) {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM person WHERE id = ANY(:ids)")
+                .bind("ids", ids.toArray(Long[]::new))
+                .map(R2dbcPersonRepository::toResponse)
+                .all();
+    }
+
+    @Override
+    public Mono<Long> findVersionById(Long id) {
+        return databaseClient.sql("SELECT version FROM person WHERE id = :id")
+                .bind("id", id)
+                .map(row -> row.get("version", Long.class))
+                .one();
+    }
+
+    @Override
+    public Mono<Person> findByEmail(String email) {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM person WHERE lower(email) = lower(:email)")
+                .bind("email", email)
+                .map(R2dbcPersonRepository::toPerson)
+                .one();
+    }
+
+    @Override
+    public Flux<String> findExistingEmails(Collection<String> emails) {
+        return databaseClient.sql("SELECT lower(email) AS email FROM person WHERE lower(email) = ANY(:emails)")
+                .bind("emails", emails.toArray(String[]::new))
+                .map(row -> row.get("email", String.class))
+                .all();
+    }
+
+    @Override
+    public Flux<PersonResponse> searchByName(String term, int limit) {
+        String normalizedTerm = term.toLowerCase(Locale.ROOT);
+        return databaseClient.sql("""
+                        SELECT %s FROM person
+                        WHERE lower(first_name || ' ' || last_name) LIKE :pattern
+                        ORDER BY similarity(lower(first_name || ' ' || last_name), :term) DESC, id
+                        LIMIT :limit
+                        """.formatted(COLUMNS))
+                .bind("pattern", "%" + SqlUtils.escapeLike(normalizedTerm) + "%")
+                .bind("term", normalizedTerm)
+                .bind("limit", limit)
+                .map(R2dbcPersonRepository::toResponse)
+                .all();
+    }
+
+    @Override
+    public Flux<PersonSearchHit> search(List<String> terms, int offset, int limit, boolean highlight) {
+        String highlightColumn = (highlight ? PersonSearchRepositoryImpl.POSTGRES_HIGHLIGHT : "NULL") + " AS highlight";
+        return databaseClient.sql(PersonSearchRepositoryImpl.POSTGRES_SEARCH.formatted(highlightColumn))
+                .bind("query", SearchUtils.toPrefixTsQuery(terms))
+                .bind("limit", limit)
+                .bind("offset", offset)
+                .map(row -> new PersonSearchHit(
+                        row.get("id", Long.class),
+                        row.get("first_name", String.class),
+                        row.get("last_name", String.class),
+                        row.get("address", String.class),
+                        Gender.valueOf(row.get("gender", String.class)),
+                        row.get("email", String.class),
+                        row.get("rank", Float.class),
+                        row.get("highlight", String.class)))
+                .all();
+    }
+
+    @Override
+    public Mono<Person> insert(Person person) {
+        return databaseClient.sql("""
+                        INSERT INTO person (first_name, last_name, address, gender, email)
+                        VALUES (:firstName, :lastName, :address, :gender, :email)
+                        RETURNING %s
+                        """.formatted(COLUMNS))
+                .bind("firstName", person.getFirstName())
+                .bind("lastName", person.getLastName())
+                .bind("address", person.getAddress())
+                .bind("gender", person.getGender().name())
+                .bind("email", person.getEmail())
+                .map(R2dbcPersonRepository::toPerson)
+                .one();
+    }
+
+    @Override
+    public Mono<PersonUpdate> update(Long id, Person person) {
+        return bindUpdate(databaseClient.sql(UPDATE.formatted("")), id, person)
+                .map(R2dbcPersonRepository::toPersonUpdate)
+                .one();
+    }
+
+    @Override
+    public Mono<PersonUpdate> updateIfVersion(Long id, Long version, Person person) {
+        return bindUpdate(databaseClient.sql(UPDATE.formatted(" AND p.version = :version")), id, person)
+                .bind("version", version)
+                .map(R2dbcPersonRepository::toPersonUpdate)
+                .one();
+    }
+
+    @Override
+    public Mono<Boolean> existsById(Long id) {
+        return databaseClient.sql("SELECT EXISTS (SELECT 1 FROM person WHERE id = :id) AS present")
+                .bind("id", id)
+                .map(row -> row.get("present", Boolean.class))
+                .one();
+    }
+
+    @Override
+    public Mono<Gender> deleteById(Long id) {
+        return databaseClient.sql("DELETE FROM person WHERE id = :id RETURNING gender")
+                .bind("id", id)
+                .map(row -> Gender.valueOf(row.get("gender", String.class)))
+                .one();
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindUpdate(DatabaseClient.GenericExecuteSpec spec, Long id, Person person) {
+        return spec
+                .bind("id", id)
+                .bind("firstName", person.getFirstName())
+                .bind("lastName", person.getLastName())
+                .bind("address", person.getAddress())
+                .bind("gender", person.getGender().name())
+                .bind("email", person.getEmail());
+    }
+
+    private static PersonResponse toResponse(Readable row) {
+        return new PersonResponse(
+                row.get("id", Long.class),
+                row.get("first_name", String.class),
+                row.get("last_name", String.class),
+                row.get("address", String.class),
+                Gender.valueOf(row.get("gender", String.class)),
+                row.get("email", String.class)
+        );
+    }
+
+    private static PersonUpdate toPersonUpdate(Readable row) {
+        return new PersonUpdate(toPerson(row), Gender.valueOf(row.get("previous_gender", String.class)));
+    }
+
+    private static Person toPerson(Readable row) {
+        return new Person(
+                row.get("id", Long.class),
+                row.get("first_name", String.class),
+                row.get("last_name", String.class),
+                row.get("address", String.class),
+                Gender.valueOf(row.get("gender", String.class)),
+                row.get("email", String.class),
+                row.get("version", Long.class)
+        );
+    }
+}
@@ -1,15 +1,34 @@
 package io.github.diegorscs.service;
 
+import io.github.diegorscs.dto.PersonImportResponse;
+import io.github.diegorscs.dto.PersonLookupResponse;
+import io.github.diegorscs.dto.PersonPageResponse;
+import io.github.diegorscs.dto.PersonResponse;
+import io.github.diegorscs.dto.PersonSearchResponse;
+import io.github.diegorscs.dto.PersonStatsResponse;
+import io.github.diegorscs.model.BatchItem;
 import io.github.diegorscs.model.Person;
 
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface PersonService {
-    List<Person> findAll();
+    List<PersonResponse> findAll();
+    PersonPageResponse findPage(Long after, int limit);
+    void exportAll(Consumer<PersonResponse> consumer);
+    long exportCsv(OutputStream csv);
     Person findById(Long id);
+    PersonLookupResponse findByIds(List<Long> ids);
+    Long findVersionById(Long id);
     Person create(Person person);
-    Person update(Long id, Person person);
+    List<BatchItem> createAll(List<Person> people);
+    PersonImportResponse importCsv(InputStream csv);
+    Person update(Long id, Person person, Long expectedVersion);
     void delete(Long id);
     Person findByEmail(String email);
-    List<Person> findByLikeName(String name);
+    List<PersonResponse> findByLikeName(String name, int limit);
+    PersonSearchResponse search(List<String> terms, int page, int limit, boolean highlight);
+    PersonStatsResponse getStats();
 }
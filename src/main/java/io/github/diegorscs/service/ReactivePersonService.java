@@ -0,0 +1,30 @@
+package io.github.diegorscs.service;
+
+import io.github.diegorscs.dto.PersonLookupResponse;
+import io.github.diegorscs.dto.PersonPageResponse;
+import io.github.diegorscs.dto.PersonResponse;
+import io.github.diegorscs.dto.PersonSearchResponse;
+import io.github.diegorscs.dto.PersonStatsResponse;
+import io.github.diegorscs.model.BatchItem;
+import io.github.diegorscs.model.Person;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+public interface ReactivePersonService {
+    Flux<PersonResponse> findAll();
+    Mono<PersonPageResponse> findPage(Long after, int limit);
+    Flux<String> exportCsv();
+    Mono<Person> findById(Long id);
+    Mono<PersonLookupResponse> findByIds(List<Long> ids);
+    Mono<Long> findVersionById(Long id);
+    Mono<Person> create(Person person);
+    Mono<List<BatchItem>> createAll(List<Person> people);
+    Mono<Person> update(Long id, Person person, Long expectedVersion);
+    Mono<Void> delete(Long id);
+    Mono<Person> findByEmail(String email);
+    Flux<PersonResponse> findByLikeName(String name, int limit);
+    Mono<PersonSearchResponse> search(List<String> terms, int page, int limit, boolean highlight);
+    Mono<PersonStatsResponse> getStats();
+}
@@ -1,79 +1,313 @@
 package io.github.diegorscs.service.impl;
 
+import io.github.diegorscs.cache.EmailFilter;
+import io.github.diegorscs.cache.PersonCache;
+import io.github.diegorscs.cache.SingleFlight;
+import io.github.diegorscs.dto.PersonImportResponse;
+import io.github.diegorscs.dto.PersonLookupResponse;
+import io.github.diegorscs.dto.PersonPageResponse;
+import io.github.diegorscs.dto.PersonResponse;
+import io.github.diegorscs.dto.PersonSearchHit;
+import io.github.diegorscs.dto.PersonSearchResponse;
+import io.github.diegorscs.dto.PersonStatsResponse;
+import io.github.diegorscs.exceptions.PreconditionFailedException;
 import io.github.diegorscs.exceptions.ResourceAlreadyExistsException;
 import io.github.diegorscs.exceptions.ResourceNotFoundException;
+import io.github.diegorscs.mapper.PersonMapper;
+import io.github.diegorscs.model.BatchItem;
+import io.github.diegorscs.model.Gender;
 import io.github.diegorscs.model.Person;
+import io.github.diegorscs.model.PersonImport;
 import io.github.diegorscs.repository.PersonRepository;
 import io.github.diegorscs.service.PersonService;
+import io.github.diegorscs.stats.PersonStats;
+import io.github.diegorscs.stats.PersonStatsReconciler;
+import io.github.diegorscs.util.EmailUtils;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class PersonServiceImpl implements PersonService {
 
+    private static final int INSERT_BATCH_SIZE = 50;
+    private static final int MAX_REPORTED_REJECTIONS = 1_000;
+    private static final int LOOKUP_CHUNK_SIZE = 500;
+
     private final PersonRepository personRepository;
+    private final EntityManager entityManager;
+    private final PersonCache personCache;
+    private final PersonStats personStats;
+    private final PersonStatsReconciler personStatsReconciler;
+    private final EmailFilter emailFilter;
+    private final SingleFlight singleFlight;
+    private final TransactionOperations transactionOperations;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<PersonResponse> findAll() {
+        log.debug("Finding all people!");
+        return personRepository.findAllResponses();
+    }
 
     @Override
-    public List<Person> findAll() {
-        log.info("Finding all people!");
-        return personRepository.findAll();
+    @Transactional(readOnly = true)
+    public PersonPageResponse findPage(Long after, int limit) {
+        log.debug("Finding a page of people!");
+        return PersonMapper.toPageResponse(personRepository.findResponsesAfter(after, Limit.of(limit + 1)), limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportAll(Consumer<PersonResponse> consumer) {
+        log.debug("Exporting all people!");
+        try (Stream<PersonResponse> people = personRepository.streamAllResponses()) {
+            people.forEach(consumer);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportCsv(OutputStream csv) {
+        long rows = personRepository.exportCsv(csv);
+        log.debug("Exported {} people as CSV!", rows);
+        return rows;
     }
 
     @Override
     public Person findById(Long id) {
-        log.info("Finding one person!");
-        return personRepository.findById(id)
+        log.debug("Finding one person!");
+        return personCache.getById(id).orElseGet(() -> singleFlight.execute("id", id, () -> loadById(id)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PersonLookupResponse findByIds(List<Long> ids) {
+        log.debug("Finding {} people by id!", ids.size());
+        List<Long> distinctIds = ids.stream().distinct().toList();
+        Map<Long, PersonResponse> found = new HashMap<>();
+        for (int start = 0; start < distinctIds.size(); start += LOOKUP_CHUNK_SIZE) {
+            List<Long> chunk = distinctIds.subList(start, Math.min(start + LOOKUP_CHUNK_SIZE, distinctIds.size()));
+            personRepository.findResponsesByIds(chunk).forEach(person -> found.put(person.getId(), person));
+        }
+        return PersonMapper.toLookupResponse(distinctIds, found);
+    }
+
+    @Override
+    public Long findVersionById(Long id) {
+        return personCache.getById(id)
+                .map(Person::getVersion)
+                .or(() -> personRepository.findVersionById(id))
                 .orElseThrow(() -> new ResourceNotFoundException("No records found for this ID!"));
     }
 
     @Override
+    @Transactional
     public Person create(Person person) {
-        log.info("Creating one person!");
-        Optional<Person> entity = personRepository.findByEmail(person.getEmail());
+        log.debug("Creating one person!");
+        Person saved = saveCheckingEmail(person);
+        personStats.increment(saved.getGender());
+        emailFilter.put(saved.getEmail());
+        return saved;
+    }
 
-        if (entity.isPresent()) {
-            throw new ResourceAlreadyExistsException("Person already exist with given e-Mail: " + person.getEmail());
+    /**
+     * Inserts the people whose e-mails are free and reports the others as conflicts. The e-mail filter only knows
+     * the e-mails written through this instance, so an insert that still hits {@code ux_person_email} rolls back and
+     * is retried once with every e-mail checked against the database.
+     */
+    @Override
+    public List<BatchItem> createAll(List<Person> people) {
+        log.debug("Creating {} people in batch!", people.size());
+        try {
+            return transactionOperations.execute(status -> insertAll(people, true));
+        } catch (DataIntegrityViolationException e) {
+            if (!EmailUtils.isUniqueViolation(e)) {
+                throw e;
+            }
+            log.debug("E-mail filter missed an existing e-mail, checking every e-mail of the batch");
         }
+        people.forEach(person -> {
+            person.setId(null);
+            person.setVersion(null);
+        });
+        try {
+            return transactionOperations.execute(status -> insertAll(people, false));
+        } catch (DataIntegrityViolationException e) {
+            if (EmailUtils.isUniqueViolation(e)) {
+                throw new ResourceAlreadyExistsException("One or more e-Mails were created concurrently, no person was created");
+            }
+            throw e;
+        }
+    }
 
-        return personRepository.save(person);
+    @Override
+    @Transactional
+    public PersonImportResponse importCsv(InputStream csv) {
+        PersonImport result = personRepository.importCsv(csv, MAX_REPORTED_REJECTIONS);
+        log.debug("Imported {} of {} people from CSV!", result.importedTotal(), result.received());
+        result.imported().forEach(genderCount -> personStats.increment(genderCount.gender(), genderCount.total()));
+        if (result.importedTotal() > 0) {
+            emailFilter.invalidate();
+        }
+        return new PersonImportResponse(result.received(), result.importedTotal(), result.rejected(), result.rejections());
     }
 
     @Override
-    public Person update(Long id, Person person) {
-        log.info("Updating one person!");
-        Person entity = personRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("No records found for this ID!"));
-        entity.setFirstName(person.getFirstName());
-        entity.setLastName(person.getLastName());
-        entity.setAddress(person.getAddress());
-        entity.setGender(person.getGender());
-        entity.setEmail(person.getEmail());
-        return personRepository.save(entity);
+    @Transactional
+    public Person update(Long id, Person person, Long expectedVersion) {
+        log.debug("Updating one person!");
+        try {
+            Optional<Gender> previousGender = expectedVersion == null
+                    ? personRepository.updatePerson(id, person)
+                    : personRepository.updatePersonIfVersion(id, expectedVersion, person);
+            if (previousGender.isEmpty()) {
+                if (expectedVersion != null && personRepository.existsById(id)) {
+                    throw new PreconditionFailedException("Person has been modified since the given version!");
+                }
+                throw new ResourceNotFoundException("No records found for this ID!");
+            }
+            personStats.move(previousGender.get(), person.getGender());
+            emailFilter.put(person.getEmail());
+            return personRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("No records found for this ID!"));
+        } catch (DataIntegrityViolationException e) {
+            if (EmailUtils.isUniqueViolation(e)) {
+                throw new ResourceAlreadyExistsException("Person already exist with given e-Mail: " + person.getEmail());
+            }
+            throw e;
+        } finally {
+            personCache.evict(id);
+        }
     }
 
     @Override
+    @Transactional
     public void delete(Long id) {
-        log.info("Deleting one person!");
-        personRepository.findById(id)
+        log.debug("Deleting one person!");
+        Gender gender = personRepository.deletePerson(id)
                 .orElseThrow(() -> new ResourceNotFoundException("No records found for this ID!"));
-        personRepository.deleteById(id);
+        personStats.decrement(gender);
+        personCache.evict(id);
     }
 
     @Override
     public Person findByEmail(String email) {
-        log.info("Finding one person by email!");
-        return personRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("No records found for this e-Mail: " + email));
+        log.debug("Finding one person by email!");
+        return personCache.getByEmail(email)
+                .orElseGet(() -> singleFlight.execute("email", EmailUtils.normalize(email), () -> loadByEmail(email)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<PersonResponse> findByLikeName(String name, int limit) {
+        log.debug("Finding people by name!");
+        return personRepository.searchByName(name, limit);
     }
 
     @Override
-    public List<Person> findByLikeName(String name) {
-        return personRepository.findByLikeName(name);
+    @Transactional(readOnly = true)
+    public PersonSearchResponse search(List<String> terms, int page, int limit, boolean highlight) {
+        log.debug("Searching people by {}!", terms);
+        List<PersonSearchHit> hits = personRepository.search(terms, page * limit, limit + 1, highlight);
+        if (hits.size() > limit) {
+            return new PersonSearchResponse(hits.subList(0, limit), page + 1);
+        }
+        return new PersonSearchResponse(hits, null);
+    }
+
+    @Override
+    public PersonStatsResponse getStats() {
+        if (!personStats.isLoaded()) {
+            personStatsReconciler.reconcile();
+        }
+        return personStats.snapshot();
+    }
+
+    private Person loadById(Long id) {
+        long stamp = personCache.stamp();
+        Person person = personRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("No records found for this ID!"));
+        personCache.put(person, stamp);
+        return person;
+    }
+
+    private Person loadByEmail(String email) {
+        long stamp = personCache.stamp();
+        Person person = personRepository.findByEmail(email)
+                .orElseThrow(() -> new ResourceNotFoundException("No records found for this e-Mail: " + email));
+        personCache.put(person, stamp);
+        return person;
+    }
+
+    private List<BatchItem> insertAll(List<Person> people, boolean useEmailFilter) {
+        Set<String> emails = people.stream()
+                .map(person -> EmailUtils.normalize(person.getEmail()))
+                .collect(Collectors.toSet());
+        Set<String> existingEmails;
+        if (useEmailFilter) {
+            Set<String> candidates = emailFilter.mightContain(emails);
+            existingEmails = candidates.isEmpty() ? Set.of() : personRepository.findExistingEmails(candidates);
+            emailFilter.recordLookup(candidates.size(), existingEmails.size());
+        } else {
+            existingEmails = personRepository.findExistingEmails(emails);
+        }
+
+        Set<String> batchEmails = new HashSet<>();
+        List<BatchItem> items = new ArrayList<>(people.size());
+        List<Person> toInsert = new ArrayList<>(people.size());
+        for (Person person : people) {
+            String email = EmailUtils.normalize(person.getEmail());
+            if (existingEmails.contains(email)) {
+                items.add(BatchItem.conflict(person, "Person already exist with given e-Mail: " + person.getEmail()));
+            } else if (!batchEmails.add(email)) {
+                items.add(BatchItem.conflict(person, "Duplicated e-Mail in batch: " + person.getEmail()));
+            } else {
+                items.add(BatchItem.created(person));
+                toInsert.add(person);
+            }
+        }
+
+        for (int from = 0; from < toInsert.size(); from += INSERT_BATCH_SIZE) {
+            personRepository.saveAll(toInsert.subList(from, Math.min(from + INSERT_BATCH_SIZE, toInsert.size())));
+            personRepository.flush();
+            entityManager.clear();
+        }
+        toInsert.forEach(person -> {
+            personStats.increment(person.getGender());
+            emailFilter.put(person.getEmail());
+        });
+        return items;
+    }
+
+    private Person saveCheckingEmail(Person person) {
+        try {
+            return personRepository.saveAndFlush(person);
+        } catch (DataIntegrityViolationException e) {
+            if (EmailUtils.isUniqueViolation(e)) {
+                throw new ResourceAlreadyExistsException("Person already exist with given e-Mail: " + person.getEmail());
+            }
+            throw e;
+        }
     }
 }
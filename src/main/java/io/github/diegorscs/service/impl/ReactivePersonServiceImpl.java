@@ -0,0 +1,203 @@
+package io.github.diegorscs.service.impl;
+
+import io.github.diegorscs.dto.PersonLookupResponse;
+import io.github.diegorscs.dto.PersonPageResponse;
+import io.github.diegorscs.dto.PersonResponse;
+import io.github.diegorscs.dto.PersonSearchResponse;
+import io.github.diegorscs.dto.PersonStatsResponse;
+import io.github.diegorscs.exceptions.PreconditionFailedException;
+import io.github.diegorscs.exceptions.ResourceAlreadyExistsException;
+import io.github.diegorscs.exceptions.ResourceNotFoundException;
+import io.github.diegorscs.mapper.PersonMapper;
+import io.github.diegorscs.model.BatchItem;
+import io.github.diegorscs.model.Person;
+import io.github.diegorscs.model.PersonUpdate;
+import io.github.diegorscs.repository.ReactivePersonRepository;
+import io.github.diegorscs.service.ReactivePersonService;
+import io.github.diegorscs.stats.PersonStats;
+import io.github.diegorscs.util.CsvUtils;
+import io.github.diegorscs.util.EmailUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@Slf4j
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactivePersonServiceImpl implements ReactivePersonService {
+
+    private static final int LOOKUP_CHUNK_SIZE = 500;
+    private static final String CSV_HEADER = CsvUtils.line("id", "firstName", "lastName", "address", "gender", "email");
+
+    private final ReactivePersonRepository personRepository;
+    private final TransactionalOperator transactionalOperator;
+    private final PersonStats personStats;
+
+    @Override
+    public Flux<PersonResponse> findAll() {
+        log.debug("Finding all people!");
+        return personRepository.findAll();
+    }
+
+    @Override
+    public Mono<PersonPageResponse> findPage(Long after, int limit) {
+        log.debug("Finding a page of people!");
+        return personRepository.findAfter(after, limit + 1)
+                .collectList()
+                .map(rows -> PersonMapper.toPageResponse(rows, limit));
+    }
+
+    @Override
+    public Flux<String> exportCsv() {
+        log.debug("Exporting all people as CSV!");
+        return personRepository.findAll()
+                .map(person -> CsvUtils.line(person.getId().toString(), person.getFirstName(), person.getLastName(),
+                        person.getAddress(), person.getGender().name(), person.getEmail()))
+                .startWith(CSV_HEADER);
+    }
+
+    @Override
+    public Mono<Person> findById(Long id) {
+        log.debug("Finding one person!");
+        return personRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("No records found for this ID!")));
+    }
+
+    @Override
+    public Mono<PersonLookupResponse> findByIds(List<Long> ids) {
+        log.debug("Finding {} people by id!", ids.size());
+        List<Long> distinctIds = ids.stream().distinct().toList();
+        return Flux.fromIterable(distinctIds)
+                .buffer(LOOKUP_CHUNK_SIZE)
+                .concatMap(personRepository::findByIds)
+                .collectMap(PersonResponse::getId, Function.identity())
+                .map(found -> PersonMapper.toLookupResponse(distinctIds, found));
+    }
+
+    @Override
+    public Mono<Long> findVersionById(Long id) {
+        return personRepository.findVersionById(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("No records found for this ID!")));
+    }
+
+    @Override
+    public Mono<Person> create(Person person) {
+        log.debug("Creating one person!");
+        return personRepository.insert(person)
+                .flatMap(saved -> personStats.incrementOnCommit(saved.getGender()).thenReturn(saved))
+                .as(transactionalOperator::transactional)
+                .onErrorMap(DataIntegrityViolationException.class, e -> EmailUtils.isUniqueViolation(e)
+                        ? new ResourceAlreadyExistsException("Person already exist with given e-Mail: " + person.getEmail())
+                        : e);
+    }
+
+    @Override
+    public Mono<List<BatchItem>> createAll(List<Person> people) {
+        log.debug("Creating {} people in batch!", people.size());
+        Set<String> emails = people.stream()
+                .map(person -> EmailUtils.normalize(person.getEmail()))
+                .collect(Collectors.toSet());
+        Mono<Set<String>> existingEmails = emails.isEmpty()
+                ? Mono.just(Set.of())
+                : personRepository.findExistingEmails(emails).collect(Collectors.toSet());
+
+        return existingEmails.flatMap(existing -> {
+            Set<String> batchEmails = new HashSet<>();
+            List<BatchItem> items = new ArrayList<>(people.size());
+            List<Person> toInsert = new ArrayList<>(people.size());
+            for (Person person : people) {
+                String email = EmailUtils.normalize(person.getEmail());
+                if (existing.contains(email)) {
+                    items.add(BatchItem.conflict(person, "Person already exist with given e-Mail: " + person.getEmail()));
+                } else if (!batchEmails.add(email)) {
+                    items.add(BatchItem.conflict(person, "Duplicated e-Mail in batch: " + person.getEmail()));
+                } else {
+                    items.add(BatchItem.created(person));
+                    toInsert.add(person);
+                }
+            }
+            return Flux.fromIterable(toInsert)
+                    .concatMap(person -> personRepository.insert(person).flatMap(saved -> {
+                        person.setId(saved.getId());
+                        person.setVersion(saved.getVersion());
+                        return personStats.incrementOnCommit(person.getGender());
+                    }))
+                    .then(Mono.just(items))
+                    .as(transactionalOperator::transactional);
+        }).onErrorMap(DataIntegrityViolationException.class, e -> EmailUtils.isUniqueViolation(e)
+                ? new ResourceAlreadyExistsException("One or more e-Mails were created concurrently, no person was created")
+                : e);
+    }
+
+    @Override
+    public Mono<Person> update(Long id, Person person, Long expectedVersion) {
+        log.debug("Updating one person!");
+        Mono<PersonUpdate> updated = expectedVersion == null
+                ? personRepository.update(id, person)
+                : personRepository.updateIfVersion(id, expectedVersion, person);
+        return updated
+                .flatMap(update -> personStats.moveOnCommit(update.previousGender(), update.person().getGender())
+                        .thenReturn(update.person()))
+                .as(transactionalOperator::transactional)
+                .switchIfEmpty(Mono.defer(() -> expectedVersion == null
+                        ? Mono.just(false)
+                        : personRepository.existsById(id))
+                        .flatMap(exists -> Mono.error(exists
+                                ? new PreconditionFailedException("Person has been modified since the given version!")
+                                : new ResourceNotFoundException("No records found for this ID!"))))
+                .onErrorMap(DataIntegrityViolationException.class, e -> EmailUtils.isUniqueViolation(e)
+                        ? new ResourceAlreadyExistsException("Person already exist with given e-Mail: " + person.getEmail())
+                        : e);
+    }
+
+    @Override
+    public Mono<Void> delete(Long id) {
+        log.debug("Deleting one person!");
+        return personRepository.deleteById(id)
+                .flatMap(gender -> personStats.decrementOnCommit(gender).thenReturn(gender))
+                .as(transactionalOperator::transactional)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("No records found for this ID!")))
+                .then();
+    }
+
+    @Override
+    public Mono<Person> findByEmail(String email) {
+        log.debug("Finding one person by email!");
+        return personRepository.findByEmail(email)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("No records found for this e-Mail: " + email)));
+    }
+
+    @Override
+    public Flux<PersonResponse> findByLikeName(String name, int limit) {
+        log.debug("Finding people by name!");
+        return personRepository.searchByName(name, limit);
+    }
+
+    @Override
+    public Mono<PersonSearchResponse> search(List<String> terms, int page, int limit, boolean highlight) {
+        log.debug("Searching people by {}!", terms);
+        return personRepository.search(terms, page * limit, limit + 1, highlight)
+                .collectList()
+                .map(hits -> hits.size() > limit
+                        ? new PersonSearchResponse(hits.subList(0, limit), page + 1)
+                        : new PersonSearchResponse(hits, null));
+    }
+
+    @Override
+    public Mono<PersonStatsResponse> getStats() {
+        return Mono.just(personStats.snapshot());
+    }
+}
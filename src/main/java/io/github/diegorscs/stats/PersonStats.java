@@ -0,0 +1,214 @@
+package io.github.diegorscs.stats;
+
+import io.github.diegorscs.dto.PersonStatsResponse;
+import io.github.diegorscs.model.Gender;
+import io.github.diegorscs.model.GenderCount;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import reactor.core.publisher.Mono;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * In-memory person counts per gender, kept up to date by the writes and periodically reconciled against the
+ * database by {@link PersonStatsReconciler}. Changes made inside a transaction, or inside a reactive one through the
+ * {@code OnCommit} variants, are applied after it commits.
+ * Reconciliation adds the difference between the database counts and the counters instead of overwriting them, and
+ * only when no write committed while the counts were taken, as it cannot tell whether such a write is in them.
+ */
+@Slf4j
+@Component
+public class PersonStats {
+
+    private final Map<Gender, AtomicLong> counts = new EnumMap<>(Gender.class);
+    private final AtomicLong committing = new AtomicLong();
+    private final AtomicLong commits = new AtomicLong();
+    private volatile boolean loaded;
+
+    public PersonStats() {
+        for (Gender gender : Gender.values()) {
+            counts.put(gender, new AtomicLong());
+        }
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public void increment(Gender gender) {
+        add(gender, 1);
+    }
+
+    public void increment(Gender gender, long count) {
+        add(gender, count);
+    }
+
+    public void decrement(Gender gender) {
+        add(gender, -1);
+    }
+
+    public void move(Gender from, Gender to) {
+        if (from != to) {
+            add(from, -1);
+            add(to, 1);
+        }
+    }
+
+    public Mono<Void> incrementOnCommit(Gender gender) {
+        return addOnCommit(gender, 1);
+    }
+
+    public Mono<Void> decrementOnCommit(Gender gender) {
+        return addOnCommit(gender, -1);
+    }
+
+    public Mono<Void> moveOnCommit(Gender from, Gender to) {
+        return from == to ? Mono.empty() : addOnCommit(from, -1).then(addOnCommit(to, 1));
+    }
+
+    public PersonStatsResponse snapshot() {
+        Map<Gender, Long> byGender = new EnumMap<>(Gender.class);
+        long total = 0;
+        for (Map.Entry<Gender, AtomicLong> entry : counts.entrySet()) {
+            long count = entry.getValue().get();
+            byGender.put(entry.getKey(), count);
+            total += count;
+        }
+        return new PersonStatsResponse(total, byGender);
+    }
+
+    /**
+     * Corrects the counters by how far they are from {@code countByGender}, returning the total drift, or empty
+     * without changing anything when a write was committing while the counts were taken.
+     */
+    public OptionalLong reconcile(Supplier<List<GenderCount>> countByGender) {
+        long commitsBefore = commits.get();
+        if (committing.get() > 0) {
+            return OptionalLong.empty();
+        }
+        Map<Gender, Long> expected = new EnumMap<>(Gender.class);
+        counts.forEach((gender, counter) -> expected.put(gender, counter.get()));
+        Map<Gender, Long> actual = new EnumMap<>(Gender.class);
+        countByGender.get().stream()
+                .filter(genderCount -> genderCount.gender() != null)
+                .forEach(genderCount -> actual.put(genderCount.gender(), genderCount.total()));
+        if (commits.get() != commitsBefore) {
+            return OptionalLong.empty();
+        }
+
+        long drift = 0;
+        for (Map.Entry<Gender, AtomicLong> entry : counts.entrySet()) {
+            long delta = actual.getOrDefault(entry.getKey(), 0L) - expected.get(entry.getKey());
+            entry.getValue().addAndGet(delta);
+            drift += Math.abs(delta);
+        }
+        if (loaded && drift > 0) {
+            log.warn("Person stats drifted by {} and were reconciled", drift);
+        }
+        loaded = true;
+        return OptionalLong.of(drift);
+    }
+
+    private void add(Gender gender, long delta) {
+        if (gender == null) {
+            return;
+        }
+        PendingChange change = new PendingChange(counts.get(gender), delta);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    change.beforeCommit();
+                }
+
+                @Override
+                public void afterCommit() {
+                    change.afterCommit();
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    change.afterCompletion();
+                }
+            });
+        } else {
+            change.apply();
+        }
+    }
+
+    private Mono<Void> addOnCommit(Gender gender, long delta) {
+        if (gender == null) {
+            return Mono.empty();
+        }
+        PendingChange change = new PendingChange(counts.get(gender), delta);
+        return org.springframework.transaction.reactive.TransactionSynchronizationManager.forCurrentTransaction()
+                .filter(org.springframework.transaction.reactive.TransactionSynchronizationManager::isSynchronizationActive)
+                .doOnNext(manager -> manager.registerSynchronization(
+                        new org.springframework.transaction.reactive.TransactionSynchronization() {
+                            @Override
+                            public Mono<Void> beforeCommit(boolean readOnly) {
+                                return Mono.fromRunnable(change::beforeCommit);
+                            }
+
+                            @Override
+                            public Mono<Void> afterCommit() {
+                                return Mono.fromRunnable(change::afterCommit);
+                            }
+
+                            @Override
+                            public Mono<Void> afterCompletion(int status) {
+                                return Mono.fromRunnable(change::afterCompletion);
+                            }
+                        }))
+                .onErrorResume(NoTransactionException.class, e -> Mono.empty())
+                .switchIfEmpty(Mono.fromRunnable(change::apply))
+                .then();
+    }
+
+    /**
+     * One counter change, counted as committing from just before its transaction commits until it completes so that
+     * {@link #reconcile} never takes counts in between.
+     */
+    private final class PendingChange {
+
+        private final AtomicLong counter;
+        private final long delta;
+        private boolean counted;
+
+        private PendingChange(AtomicLong counter, long delta) {
+            this.counter = counter;
+            this.delta = delta;
+        }
+
+        void beforeCommit() {
+            committing.incrementAndGet();
+            commits.incrementAndGet();
+            counted = true;
+        }
+
+        void afterCommit() {
+            counter.addAndGet(delta);
+        }
+
+        void afterCompletion() {
+            if (counted) {
+                committing.decrementAndGet();
+                counted = false;
+            }
+        }
+
+        void apply() {
+            beforeCommit();
+            afterCommit();
+            afterCompletion();
+        }
+    }
+}
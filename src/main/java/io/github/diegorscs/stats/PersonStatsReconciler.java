@@ -0,0 +1,36 @@
+package io.github.diegorscs.stats;
+
+import io.github.diegorscs.repository.PersonRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Loads the person counters at startup and corrects them from a {@code GROUP BY} query every
+ * {@code persons.stats.reconcile-interval}, fixing drift from rows changed outside the API. A count that overlaps a
+ * committing write is discarded and taken again, up to {@value #MAX_ATTEMPTS} times per run. The count runs in a
+ * read-write transaction so it is taken on the primary rather than on a lagging replica.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PersonStatsReconciler {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final PersonRepository personRepository;
+    private final PersonStats personStats;
+
+    @Transactional
+    @Scheduled(initialDelay = 0, fixedDelayString = "${persons.stats.reconcile-interval:5m}")
+    public void reconcile() {
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            if (personStats.reconcile(personRepository::countByGender).isPresent()) {
+                return;
+            }
+        }
+        log.debug("Person stats not reconciled, writes kept committing while counting");
+    }
+}
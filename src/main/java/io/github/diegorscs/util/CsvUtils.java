@@ -0,0 +1,25 @@
+package io.github.diegorscs.util;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Writes CSV the way PostgreSQL's {@code COPY ... WITH (FORMAT csv)} does: {@code null} as an empty field, and a
+ * value quoted only when it is empty or contains a separator, quote or line break.
+ */
+public class CsvUtils {
+
+    public static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.isEmpty() || value.chars().anyMatch(c -> c == ',' || c == '"' || c == '\n' || c == '\r')) {
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+        return value;
+    }
+
+    public static String line(String... values) {
+        return Arrays.stream(values).map(CsvUtils::escape).collect(Collectors.joining(",", "", "\n"));
+    }
+}
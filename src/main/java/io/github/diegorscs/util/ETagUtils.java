@@ -0,0 +1,58 @@
+package io.github.diegorscs.util;
+
+import io.github.diegorscs.dto.PersonResponse;
+import io.github.diegorscs.exceptions.PreconditionFailedException;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+public class ETagUtils {
+
+    private static final String ANY = "*";
+
+    public static String fromVersion(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    public static String fromContent(List<PersonResponse> people) {
+        StringBuilder content = new StringBuilder(people.size() * 96);
+        for (PersonResponse person : people) {
+            content.append(person.getId()).append('|')
+                    .append(person.getFirstName()).append('|')
+                    .append(person.getLastName()).append('|')
+                    .append(person.getAddress()).append('|')
+                    .append(person.getGender()).append('|')
+                    .append(person.getEmail()).append('\n');
+        }
+        return "\"" + DigestUtils.md5DigestAsHex(content.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    public static boolean matchesAny(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.equals(ANY) || value.equals(etag) || value.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static Long toVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals(ANY)) {
+            return null;
+        }
+        String value = ifMatch.trim();
+        if (value.length() < 3 || !value.startsWith("\"") || !value.endsWith("\"")) {
+            throw new PreconditionFailedException("Invalid If-Match header: " + ifMatch);
+        }
+        try {
+            return Long.parseLong(value.substring(1, value.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new PreconditionFailedException("Invalid If-Match header: " + ifMatch);
+        }
+    }
+}
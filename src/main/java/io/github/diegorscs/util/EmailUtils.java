@@ -0,0 +1,19 @@
+package io.github.diegorscs.util;
+
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Locale;
+
+public class EmailUtils {
+
+    private static final String EMAIL_UNIQUE_INDEX = "ux_person_email";
+
+    public static String normalize(String email) {
+        return email == null ? null : email.toLowerCase(Locale.ROOT);
+    }
+
+    public static boolean isUniqueViolation(DataIntegrityViolationException e) {
+        String message = e.getMostSpecificCause().getMessage();
+        return message != null && message.toLowerCase(Locale.ROOT).contains(EMAIL_UNIQUE_INDEX);
+    }
+}
@@ -0,0 +1,15 @@
+package io.github.diegorscs.util;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.servlet.HandlerMapping;
+
+public class RequestUtils {
+
+    /**
+     * Returns the matched route, e.g. {@code /api/person/v1/{id}}, so tags and log fields stay low-cardinality.
+     */
+    public static String uriTemplate(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern == null ? "UNKNOWN" : pattern.toString();
+    }
+}
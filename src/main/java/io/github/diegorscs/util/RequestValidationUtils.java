@@ -0,0 +1,50 @@
+package io.github.diegorscs.util;
+
+import io.github.diegorscs.exceptions.BadRequestException;
+
+import java.util.List;
+
+/**
+ * Request bounds shared by the servlet and the reactive controllers, so both stacks reject the same input with the
+ * same message.
+ */
+public class RequestValidationUtils {
+
+    public static final int MAX_LIMIT = 500;
+    public static final int MAX_BATCH_SIZE = 10_000;
+    public static final int MAX_SEARCH_PAGE = 100;
+    public static final int MAX_LOOKUP_SIZE = 1_000;
+
+    public static void validateLimit(int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new BadRequestException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+    }
+
+    public static void validateBatchSize(int size) {
+        if (size > MAX_BATCH_SIZE) {
+            throw new BadRequestException("Batch size must not exceed " + MAX_BATCH_SIZE);
+        }
+    }
+
+    public static void validateLookupIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty() || ids.contains(null)) {
+            throw new BadRequestException("Ids must be a non-empty list of numbers");
+        }
+        if (ids.size() > MAX_LOOKUP_SIZE) {
+            throw new BadRequestException("Lookup size must not exceed " + MAX_LOOKUP_SIZE);
+        }
+    }
+
+    public static List<String> searchTerms(String q, int page, int limit) {
+        validateLimit(limit);
+        if (page < 0 || page > MAX_SEARCH_PAGE) {
+            throw new BadRequestException("Page must be between 0 and " + MAX_SEARCH_PAGE);
+        }
+        List<String> terms = SearchUtils.tokenize(q);
+        if (terms.isEmpty()) {
+            throw new BadRequestException("Query must contain at least one letter or digit");
+        }
+        return terms;
+    }
+}
@@ -0,0 +1,33 @@
+package io.github.diegorscs.util;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+public class SearchUtils {
+
+    public static final int MAX_TERMS = 10;
+
+    /**
+     * Splits a free-text query into lower-case words, dropping punctuation, so the words can be passed to
+     * {@code to_tsquery} or {@code LIKE} without escaping.
+     */
+    public static List<String> tokenize(String query) {
+        if (query == null) {
+            return List.of();
+        }
+        return Arrays.stream(query.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(term -> !term.isEmpty())
+                .distinct()
+                .limit(MAX_TERMS)
+                .toList();
+    }
+
+    /**
+     * Every term as a prefix match, all required: {@code "av paul"} becomes {@code "av:* & paul:*"}.
+     */
+    public static String toPrefixTsQuery(List<String> terms) {
+        return terms.stream().map(term -> term + ":*").collect(Collectors.joining(" & "));
+    }
+}
@@ -0,0 +1,8 @@
+package io.github.diegorscs.util;
+
+public class SqlUtils {
+
+    public static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1 @@
+ALTER TABLE person ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,90 @@
+package io.github.diegorscs.benchmark;
+
+import io.github.diegorscs.Application;
+import io.github.diegorscs.model.Person;
+import io.github.diegorscs.repository.PersonRepository;
+import io.github.diegorscs.sample.PersonSample;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Starts the application for the benchmarks against PostgreSQL, as the integration and load tests do: the database
+ * in {@code benchmark.datasource.url} (plus username and password) when set, otherwise a Testcontainers PostgreSQL
+ * started once per JVM. {@code -Dbenchmark.database=h2} opts into an in-memory H2 instead, which needs no Docker but
+ * runs neither the PostgreSQL queries nor its indexes.
+ */
+public class BenchmarkContext {
+
+    private static final List<String> DEFAULT_PROPERTIES = List.of(
+            "spring.main.banner-mode=off",
+            "persons.cache.enabled=false",
+            "logging.level.root=WARN");
+
+    private static PostgreSQLContainer<?> postgres;
+
+    public static ConfigurableApplicationContext start(String... properties) {
+        return run(WebApplicationType.NONE, properties);
+    }
+
+    public static ConfigurableApplicationContext startServer(String... properties) {
+        return run(WebApplicationType.SERVLET, properties);
+    }
+
+    public static int port(ConfigurableApplicationContext context) {
+        return ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    private static ConfigurableApplicationContext run(WebApplicationType webApplicationType, String... properties) {
+        Map<String, String> args = new LinkedHashMap<>();
+        Stream.of(DEFAULT_PROPERTIES.stream(), dataSourceProperties().stream(), Arrays.stream(properties))
+                .flatMap(Function.identity())
+                .forEach(property -> {
+                    int separator = property.indexOf('=');
+                    args.put(property.substring(0, separator), property.substring(separator + 1));
+                });
+        return new SpringApplicationBuilder(Application.class)
+                .web(webApplicationType)
+                .run(args.entrySet().stream()
+                        .map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+                        .toArray(String[]::new));
+    }
+
+    private static synchronized List<String> dataSourceProperties() {
+        if ("h2".equals(System.getProperty("benchmark.database"))) {
+            return List.of(
+                    "spring.datasource.driver-class-name=org.h2.Driver",
+                    "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1");
+        }
+        String url = System.getProperty("benchmark.datasource.url", "");
+        if (!url.isBlank()) {
+            return List.of(
+                    "spring.datasource.url=" + url,
+                    "spring.datasource.username=" + System.getProperty("benchmark.datasource.username", "postgres"),
+                    "spring.datasource.password=" + System.getProperty("benchmark.datasource.password", "postgres"));
+        }
+        if (postgres == null) {
+            postgres = new PostgreSQLContainer<>("postgres:15")
+                    .withDatabaseName("benchmark")
+                    .withUrlParam("reWriteBatchedInserts", "true");
+            postgres.start();
+        }
+        return List.of(
+                "spring.datasource.url=" + postgres.getJdbcUrl(),
+                "spring.datasource.username=" + postgres.getUsername(),
+                "spring.datasource.password=" + postgres.getPassword());
+    }
+
+    public static List<Person> seed(PersonRepository personRepository, int count) {
+        return personRepository.saveAll(PersonSample.createPersonList("email", count));
+    }
+}
@@ -0,0 +1,164 @@
+package io.github.diegorscs.benchmark;
+
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Training run for the {@code cds} profile: boots the extracted application with
+ * {@code -XX:ArchiveClassesAtExit}, exercises every {@code /api/v1/persons} endpoint (including the error paths)
+ * so their classes are loaded, then stops it with SIGTERM so the JVM writes the archive on exit. Finally writes
+ * {@code launch.sh}, which starts the application with the archive.
+ * <p>
+ * Arguments: the extraction directory and the application jar name inside it. Uses a Testcontainers PostgreSQL
+ * unless {@code cds.datasource.url} (plus username and password) is set.
+ */
+public class CdsTrainingRun {
+
+    static final String ARCHIVE = "application.jsa";
+    static final String LAUNCH_SCRIPT = "launch.sh";
+
+    private static final Duration TIMEOUT = Duration.ofMinutes(2);
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(1))
+            .build();
+    private final String baseUrl;
+
+    private CdsTrainingRun(int port) {
+        this.baseUrl = "http://localhost:" + port;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path directory = Path.of(args[0]);
+        String jar = args[1];
+        String url = System.getProperty("cds.datasource.url", "");
+        if (!url.isBlank()) {
+            train(directory, jar, url, System.getProperty("cds.datasource.username", "postgres"),
+                    System.getProperty("cds.datasource.password", "postgres"));
+        } else {
+            try (PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15").withDatabaseName("cds")) {
+                postgres.start();
+                train(directory, jar, postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+            }
+        }
+        writeLaunchScript(directory, jar);
+        System.out.println("CDS archive written to " + directory.resolve(ARCHIVE));
+    }
+
+    private static void train(Path directory, String jar, String url, String username, String password) throws Exception {
+        Files.deleteIfExists(directory.resolve(ARCHIVE));
+        int port = freePort();
+        Process process = new ProcessBuilder(List.of("java", "-XX:ArchiveClassesAtExit=" + ARCHIVE, "-jar", jar,
+                "--server.port=" + port,
+                "--spring.datasource.url=" + url,
+                "--spring.datasource.username=" + username,
+                "--spring.datasource.password=" + password))
+                .directory(directory.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(directory.resolve("training.log").toFile())
+                .start();
+        try {
+            CdsTrainingRun run = new CdsTrainingRun(port);
+            run.awaitReady(process);
+            run.exercise();
+        } finally {
+            process.destroy();
+            if (!process.waitFor(1, TimeUnit.MINUTES)) {
+                process.destroyForcibly();
+            }
+        }
+        if (!Files.exists(directory.resolve(ARCHIVE))) {
+            throw new IllegalStateException("Training run did not produce " + ARCHIVE + ", see training.log");
+        }
+    }
+
+    private void awaitReady(Process process) throws Exception {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited with " + process.exitValue() + ", see training.log");
+            }
+            try {
+                if (send("GET", "/actuator/health", null).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                Thread.sleep(100);
+            }
+        }
+        throw new IllegalStateException("Application did not start within " + TIMEOUT);
+    }
+
+    private void exercise() throws Exception {
+        String persons = "/api/v1/persons";
+        String created = send("POST", persons, person("training@cds.com")).body();
+        String id = created.replaceAll(".*\"id\":(\\d+).*", "$1");
+        send("POST", persons, person("training@cds.com"));
+        send("POST", persons + "/batch", "[" + person("batch1@cds.com") + "," + person("batch2@cds.com") + "]");
+        send("GET", persons, null);
+        send("GET", persons + "/page?limit=2", null);
+        send("GET", persons + "/page?limit=0", null);
+        send("GET", persons + "/export", null);
+        send("GET", persons + "/export.csv", null);
+        send("GET", persons + "/" + id, null);
+        send("GET", persons + "?ids=" + id + ",0", null);
+        send("POST", persons + "/lookup", "{\"ids\":[" + id + ",0]}");
+        send("GET", persons + "/0", null);
+        send("GET", persons + "/email?value=training@cds.com", null);
+        send("GET", persons + "/like-name?term=Train", null);
+        send("GET", persons + "/search?q=train&highlight=true", null);
+        send("GET", persons + "/gender", null);
+        send("GET", persons + "/stats", null);
+        send("PUT", persons + "/" + id, person("training@cds.com"));
+        send("DELETE", persons + "/" + id, null);
+        send("GET", "/docs", null);
+        send("GET", "/actuator/prometheus", null);
+    }
+
+    private HttpResponse<String> send(String method, String path, String body) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(30));
+        if (body != null) {
+            request.header("Content-Type", "application/json");
+        }
+        request.method(method, body == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofString(body));
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static String person(String email) {
+        return """
+                {"firstName":"Training","lastName":"Run","address":"City - State - Country","gender":"MALE","email":"%s"}"""
+                .formatted(email);
+    }
+
+    private static void writeLaunchScript(Path directory, String jar) throws IOException {
+        Path script = directory.resolve(LAUNCH_SCRIPT);
+        Files.writeString(script, """
+                #!/bin/sh
+                # The archive only matches the class path it was recorded with, so run from this directory.
+                cd "$(dirname "$0")" || exit 1
+                exec java -XX:SharedArchiveFile=%s $JAVA_OPTS -jar %s "$@"
+                """.formatted(ARCHIVE, jar));
+        Files.setPosixFilePermissions(script, PosixFilePermissions.fromString("rwxr-xr-x"));
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
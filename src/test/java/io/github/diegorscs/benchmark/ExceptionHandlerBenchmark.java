@@ -0,0 +1,42 @@
+package io.github.diegorscs.benchmark;
+
+import io.github.diegorscs.exceptions.ExceptionResponse;
+import io.github.diegorscs.exceptions.ResourceNotFoundException;
+import io.github.diegorscs.exceptions.handler.CustomizedResponseEntityExceptionHandler;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExceptionHandlerBenchmark {
+
+    private CustomizedResponseEntityExceptionHandler handler;
+    private WebRequest request;
+    private ResourceNotFoundException exception;
+
+    @Setup
+    public void setUp() {
+        handler = new CustomizedResponseEntityExceptionHandler();
+        request = new ServletWebRequest(new MockHttpServletRequest("GET", "/api/v1/persons/1"));
+        exception = new ResourceNotFoundException("No records found for this ID!");
+    }
+
+    @Benchmark
+    public ResponseEntity<ExceptionResponse> handleNotFound() {
+        return handler.handleResourceNotFoundException(exception, request);
+    }
+
+    @Benchmark
+    public ResponseEntity<ExceptionResponse> createAndHandleNotFound() {
+        return handler.handleResourceNotFoundException(new ResourceNotFoundException("No records found for this ID!"), request);
+    }
+}
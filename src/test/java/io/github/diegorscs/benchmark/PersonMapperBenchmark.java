@@ -0,0 +1,40 @@
+package io.github.diegorscs.benchmark;
+
+import io.github.diegorscs.dto.PersonRequest;
+import io.github.diegorscs.dto.PersonResponse;
+import io.github.diegorscs.mapper.PersonMapper;
+import io.github.diegorscs.model.Gender;
+import io.github.diegorscs.model.Person;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PersonMapperBenchmark {
+
+    private Person person;
+    private PersonRequest request;
+
+    @Setup
+    public void setUp() {
+        person = new Person("FirstName", "LastName", "City - State - Country", Gender.MALE, "email@email.com");
+        person.setId(1L);
+        person.setVersion(0L);
+        request = new PersonRequest("FirstName", "LastName", "City - State - Country", Gender.MALE, "email@email.com");
+    }
+
+    @Benchmark
+    public PersonResponse toResponse() {
+        return PersonMapper.toResponse(person);
+    }
+
+    @Benchmark
+    public Person toEntity() {
+        return PersonMapper.toEntity(request);
+    }
+}
@@ -0,0 +1,68 @@
+package io.github.diegorscs.benchmark;
+
+import io.github.diegorscs.dto.PersonResponse;
+import io.github.diegorscs.mapper.PersonMapper;
+import io.github.diegorscs.model.Person;
+import io.github.diegorscs.repository.PersonRepository;
+import io.github.diegorscs.service.PersonService;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the managed-entity read path (load, dirty-check snapshot, copy in PersonMapper)
+ * against the constructor-expression projection used by PersonService. Run with
+ * {@code ./mvnw -P benchmark -DskipTests verify} and compare {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PersonReadBenchmark {
+
+    @Param({"50", "500"})
+    private int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private PersonService personService;
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start();
+        personService = context.getBean(PersonService.class);
+        entityManager = context.getBean(EntityManager.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        BenchmarkContext.seed(context.getBean(PersonRepository.class), 1_000);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<PersonResponse> entityPage() {
+        return transactionTemplate.execute(status -> entityManager
+                .createQuery("SELECT p FROM Person p WHERE p.id > :after ORDER BY p.id", Person.class)
+                .setParameter("after", 0L)
+                .setMaxResults(pageSize)
+                .getResultList()
+                .stream()
+                .map(PersonMapper::toResponse)
+                .toList());
+    }
+
+    @Benchmark
+    public List<PersonResponse> projectionPage() {
+        return personService.findPage(0L, pageSize).getContent();
+    }
+}
@@ -0,0 +1,39 @@
+package io.github.diegorscs.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.github.diegorscs.dto.PersonResponse;
+import io.github.diegorscs.sample.PersonSample;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PersonSerializationBenchmark {
+
+    @Param({"1", "50", "500", "5000"})
+    private int size;
+
+    private ObjectWriter writer;
+    private List<PersonResponse> people;
+
+    @Setup
+    public void setUp() {
+        writer = Jackson2ObjectMapperBuilder.json().build().writerFor(new TypeReference<List<PersonResponse>>() {
+        });
+        people = PersonSample.createPersonResponseList(size);
+    }
+
+    @Benchmark
+    public byte[] writeList() throws JsonProcessingException {
+        return writer.writeValueAsBytes(people);
+    }
+}
@@ -0,0 +1,72 @@
+package io.github.diegorscs.benchmark;
+
+import io.github.diegorscs.dto.PersonPageResponse;
+import io.github.diegorscs.dto.PersonResponse;
+import io.github.diegorscs.model.Gender;
+import io.github.diegorscs.model.Person;
+import io.github.diegorscs.repository.PersonRepository;
+import io.github.diegorscs.service.PersonService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exercises PersonServiceImpl against the {@link BenchmarkContext} database with the person cache disabled,
+ * so every call reaches the repository.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PersonServiceBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private PersonService personService;
+    private Long personId;
+    private String personEmail;
+    private Person changes;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start();
+        personService = context.getBean(PersonService.class);
+        List<Person> people = BenchmarkContext.seed(context.getBean(PersonRepository.class), 1_000);
+        personId = people.get(people.size() / 2).getId();
+        personEmail = people.get(people.size() / 2).getEmail();
+        changes = new Person("FirstName", "LastName", "City - State - Country", Gender.FEMALE, personEmail);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Person findById() {
+        return personService.findById(personId);
+    }
+
+    @Benchmark
+    public Person findByEmail() {
+        return personService.findByEmail(personEmail);
+    }
+
+    @Benchmark
+    public PersonPageResponse findPage() {
+        return personService.findPage(0L, 50);
+    }
+
+    @Benchmark
+    public List<PersonResponse> findByLikeName() {
+        return personService.findByLikeName("Name5", 50);
+    }
+
+    @Benchmark
+    public Person update() {
+        return personService.update(personId, changes, null);
+    }
+}
@@ -0,0 +1,210 @@
+package io.github.diegorscs.benchmark;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares time-to-first-request and memory of the packaged application across launch modes, each started
+ * {@code startup.runs} times (3 by default) against a Testcontainers PostgreSQL. Besides RSS it reports how much
+ * of it is mapped from CDS archives, memory that instances on the same host share. Build the artifacts first;
+ * modes whose artifact is missing are skipped:
+ * <pre>
+ * ./mvnw -DskipTests package                  # target/testing-java-spring-boot-0.0.1-SNAPSHOT.jar
+ * ./mvnw -P cds -DskipTests package           # target/cds (extracted jar + application.jsa)
+ * ./mvnw -P native -DskipTests native:compile # target/testing-java-spring-boot (GraalVM)
+ * ./mvnw -P benchmark test -Dtest=StartupBenchmark
+ * </pre>
+ */
+@Tag("benchmark")
+class StartupBenchmark {
+
+    private static final int RUNS = Integer.getInteger("startup.runs", 3);
+    private static final Path JAR = Path.of(System.getProperty("startup.jar",
+            "target/testing-java-spring-boot-0.0.1-SNAPSHOT.jar"));
+    private static final Path NATIVE = Path.of(System.getProperty("startup.native", "target/testing-java-spring-boot"));
+    private static final Path CDS_DIRECTORY = Path.of(System.getProperty("startup.cds", "target/cds"));
+    private static final Duration TIMEOUT = Duration.ofMinutes(2);
+    private static final Pattern MAPPING_HEADER = Pattern.compile("^[0-9a-f]+-[0-9a-f]+ ");
+
+    private static final PostgreSQLContainer<?> POSTGRES_CONTAINER = new PostgreSQLContainer<>("postgres:15")
+            .withDatabaseName("startup")
+            .withUsername("postgres")
+            .withPassword("postgres");
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofMillis(200))
+            .build();
+
+    @BeforeAll
+    static void beforeAll() {
+        POSTGRES_CONTAINER.start();
+    }
+
+    @AfterAll
+    static void afterAll() {
+        POSTGRES_CONTAINER.stop();
+    }
+
+    @Test
+    void shouldReportTimeToFirstRequestAndRss_forEachLaunchMode() throws Exception {
+        List<Mode> modes = new ArrayList<>();
+        if (Files.exists(JAR)) {
+            modes.add(new Mode("jvm", List.of("java", "-jar", JAR.toAbsolutePath().toString()), null));
+        }
+        Path extractedJar = CDS_DIRECTORY.resolve(JAR.getFileName());
+        if (Files.exists(extractedJar)) {
+            modes.add(new Mode("extracted", List.of("java", "-jar", extractedJar.getFileName().toString()), CDS_DIRECTORY));
+        }
+        if (Files.exists(CDS_DIRECTORY.resolve(CdsTrainingRun.ARCHIVE))) {
+            modes.add(new Mode("cds", List.of("java", "-XX:SharedArchiveFile=" + CdsTrainingRun.ARCHIVE, "-Xshare:on",
+                    "-jar", extractedJar.getFileName().toString()), CDS_DIRECTORY));
+        }
+        if (Files.isExecutable(NATIVE)) {
+            modes.add(new Mode("native", List.of(NATIVE.toAbsolutePath().toString()), null));
+        }
+        assertThat(modes).as("no artifact found, build %s or %s first", JAR, NATIVE).isNotEmpty();
+
+        List<StartupResult> results = new ArrayList<>();
+        for (Mode mode : modes) {
+            Sample[] samples = new Sample[RUNS];
+            for (int i = 0; i < RUNS; i++) {
+                samples[i] = start(mode);
+            }
+            results.add(StartupResult.of(mode.name(), samples));
+        }
+
+        StartupResult baseline = results.get(0);
+        System.out.printf("%n%-10s %6s %18s %14s %10s %10s %16s%n", "mode", "runs", "ttfr median (ms)", "ttfr min (ms)",
+                "vs " + baseline.mode(), "rss (MB)", "cds shared (MB)");
+        results.forEach(result -> System.out.printf("%-10s %6d %18d %14d %9.0f%% %10.1f %16.1f%n",
+                result.mode(), RUNS, result.medianMillis(), result.minMillis(),
+                100.0 * (result.medianMillis() - baseline.medianMillis()) / baseline.medianMillis(),
+                result.rssMegabytes(), result.sharedMegabytes()));
+    }
+
+    private Sample start(Mode mode) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>(mode.command());
+        command.addAll(List.of(
+                "--server.port=" + port,
+                "--spring.datasource.url=" + POSTGRES_CONTAINER.getJdbcUrl(),
+                "--spring.datasource.username=" + POSTGRES_CONTAINER.getUsername(),
+                "--spring.datasource.password=" + POSTGRES_CONTAINER.getPassword(),
+                "--logging.level.root=WARN"));
+        HttpRequest firstRequest = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/persons/page?limit=1"))
+                .timeout(Duration.ofSeconds(5))
+                .build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .directory(mode.directory() == null ? null : mode.directory().toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            while (System.nanoTime() - start < TIMEOUT.toNanos()) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(mode.name() + " exited with " + process.exitValue());
+                }
+                if (isOk(firstRequest)) {
+                    long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    return new Sample(elapsed, rssKilobytes(process.pid()), archiveKilobytes(process.pid()));
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException(mode.name() + " did not answer within " + TIMEOUT);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private boolean isOk(HttpRequest request) {
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static long rssKilobytes(long pid) throws IOException {
+        Path status = Path.of("/proc", String.valueOf(pid), "status");
+        if (!Files.exists(status)) {
+            return 0;
+        }
+        return Files.readAllLines(status).stream()
+                .filter(line -> line.startsWith("VmRSS:"))
+                .map(line -> Long.parseLong(line.replaceAll("\\D", "")))
+                .findFirst()
+                .orElse(0L);
+    }
+
+    /**
+     * Sums the resident pages of the mapped {@code .jsa} files, the JDK's default archive plus ours.
+     */
+    private static long archiveKilobytes(long pid) throws IOException {
+        Path smaps = Path.of("/proc", String.valueOf(pid), "smaps");
+        if (!Files.exists(smaps)) {
+            return 0;
+        }
+        long total = 0;
+        boolean archive = false;
+        for (String line : Files.readAllLines(smaps)) {
+            if (MAPPING_HEADER.matcher(line).find()) {
+                archive = line.endsWith(".jsa");
+            } else if (archive && line.startsWith("Rss:")) {
+                total += Long.parseLong(line.replaceAll("\\D", ""));
+            }
+        }
+        return total;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private record Mode(String name, List<String> command, Path directory) {
+    }
+
+    private record Sample(long millis, long rssKilobytes, long sharedKilobytes) {
+    }
+
+    private record StartupResult(String mode, long medianMillis, long minMillis, double rssMegabytes,
+                                 double sharedMegabytes) {
+
+        static StartupResult of(String mode, Sample[] samples) {
+            long[] millis = Arrays.stream(samples).mapToLong(Sample::millis).sorted().toArray();
+            double rss = Arrays.stream(samples).mapToLong(Sample::rssKilobytes).average().orElse(0) / 1024;
+            double shared = Arrays.stream(samples).mapToLong(Sample::sharedKilobytes).average().orElse(0) / 1024;
+            return new StartupResult(mode, millis[millis.length / 2], millis[0], rss, shared);
+        }
+    }
+}
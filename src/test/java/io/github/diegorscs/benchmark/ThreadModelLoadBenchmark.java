@@ -0,0 +1,148 @@
+package io.github.diegorscs.benchmark;
+
+import io.github.diegorscs.model.Person;
+import io.github.diegorscs.repository.PersonRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Closed-loop load test comparing Tomcat's platform thread pool with the {@code virtual-threads} profile.
+ * Each of {@code benchmark.clients} clients (1000 by default) calls {@code GET /api/v1/persons/{id}}
+ * back to back; both modes share the same connection pool size and the database chosen by {@link BenchmarkContext}.
+ * The virtual-thread run needs Java 21.
+ */
+@Tag("benchmark")
+class ThreadModelLoadBenchmark {
+
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 1000);
+    private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("benchmark.warmup-seconds", 10));
+    private static final Duration MEASUREMENT = Duration.ofSeconds(Long.getLong("benchmark.measurement-seconds", 30));
+    private static final int PEOPLE = 1_000;
+
+    @Test
+    void shouldReportThroughputAndP99_forEachThreadModel() throws Exception {
+        List<LoadResult> results = new ArrayList<>();
+        results.add(run("platform"));
+        if (Runtime.version().feature() >= 21) {
+            results.add(run("virtual", "spring.profiles.active=virtual-threads"));
+        } else {
+            System.out.println("Skipping virtual threads: Java " + Runtime.version().feature() + " < 21");
+        }
+
+        System.out.printf("%n%-10s %8s %12s %10s %10s %8s%n", "mode", "clients", "throughput", "p50 (ms)", "p99 (ms)", "errors");
+        results.forEach(result -> System.out.printf("%-10s %8d %10.0f/s %10.2f %10.2f %8d%n",
+                result.mode(), CLIENTS, result.throughput(), result.percentile(0.50), result.percentile(0.99), result.errors()));
+
+        assertThat(results).allSatisfy(result -> assertThat(result.latenciesNanos()).isNotEmpty());
+    }
+
+    private LoadResult run(String mode, String... properties) throws Exception {
+        List<String> allProperties = new ArrayList<>(List.of(
+                "server.port=0",
+                "spring.datasource.hikari.maximum-pool-size=20"));
+        allProperties.addAll(Arrays.asList(properties));
+
+        try (ConfigurableApplicationContext context = BenchmarkContext.startServer(allProperties.toArray(String[]::new))) {
+            PersonRepository personRepository = context.getBean(PersonRepository.class);
+            personRepository.deleteAllInBatch();
+            List<Long> ids = BenchmarkContext.seed(personRepository, PEOPLE).stream().map(Person::getId).toList();
+            String baseUrl = "http://localhost:" + BenchmarkContext.port(context) + "/api/v1/persons/";
+
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+            load(client, baseUrl, ids, WARMUP);
+            LoadResult result = load(client, baseUrl, ids, MEASUREMENT);
+            return new LoadResult(mode, result.throughput(), result.latenciesNanos(), result.errors());
+        }
+    }
+
+    private LoadResult load(HttpClient client, String baseUrl, List<Long> ids, Duration duration) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CLIENTS);
+        long deadline = System.nanoTime() + duration.toNanos();
+        try {
+            List<Future<ClientResult>> futures = new ArrayList<>(CLIENTS);
+            for (int i = 0; i < CLIENTS; i++) {
+                futures.add(executor.submit(() -> runClient(client, baseUrl, ids, deadline)));
+            }
+            List<long[]> latencies = new ArrayList<>();
+            int total = 0;
+            int errors = 0;
+            for (Future<ClientResult> future : futures) {
+                ClientResult clientResult = future.get();
+                latencies.add(clientResult.latenciesNanos());
+                total += clientResult.latenciesNanos().length;
+                errors += clientResult.errors();
+            }
+            long[] merged = new long[total];
+            int offset = 0;
+            for (long[] clientLatencies : latencies) {
+                System.arraycopy(clientLatencies, 0, merged, offset, clientLatencies.length);
+                offset += clientLatencies.length;
+            }
+            Arrays.sort(merged);
+            return new LoadResult(null, total / (double) duration.toSeconds(), merged, errors);
+        } finally {
+            executor.shutdownNow();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+    }
+
+    private ClientResult runClient(HttpClient client, String baseUrl, List<Long> ids, long deadline) {
+        long[] latencies = new long[1024];
+        int count = 0;
+        int errors = 0;
+        while (System.nanoTime() < deadline) {
+            Long id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + id)).timeout(Duration.ofSeconds(30)).build();
+            long start = System.nanoTime();
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() != 200) {
+                    errors++;
+                    continue;
+                }
+            } catch (Exception e) {
+                errors++;
+                continue;
+            }
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = System.nanoTime() - start;
+        }
+        return new ClientResult(Arrays.copyOf(latencies, count), errors);
+    }
+
+    private record ClientResult(long[] latenciesNanos, int errors) {
+    }
+
+    private record LoadResult(String mode, double throughput, long[] latenciesNanos, int errors) {
+
+        double percentile(double percentile) {
+            if (latenciesNanos.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile * latenciesNanos.length) - 1;
+            return latenciesNanos[Math.max(index, 0)] / 1_000_000.0;
+        }
+    }
+}
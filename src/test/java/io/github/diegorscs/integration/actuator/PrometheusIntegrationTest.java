@@ -0,0 +1,38 @@
+package io.github.diegorscs.integration.actuator;
+
+import io.github.diegorscs.integration.testcontainers.AbstractIntegrationTest;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrometheusIntegrationTest extends AbstractIntegrationTest {
+
+    @Test
+    void shouldExposeLatencySqlAndPoolMetrics_whenScraped() {
+        given()
+                .basePath("/api/v1/persons")
+                .port(port)
+                .when()
+                .get()
+                .then()
+                .statusCode(200);
+
+        String content = given()
+                .basePath("/actuator/prometheus")
+                .port(port)
+                .when()
+                .get()
+                .then()
+                .statusCode(200)
+                .extract()
+                .body()
+                .asString();
+
+        assertThat(content)
+                .contains("http_server_requests_seconds_bucket{")
+                .contains("http_server_requests_sql_statements_count{")
+                .contains("hikaricp_connections_pending{")
+                .contains("hikaricp_connections_usage_seconds_bucket{");
+    }
+}
@@ -2,11 +2,21 @@ package io.github.diegorscs.integration.controller;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import io.github.diegorscs.dto.GenderResponse;
+import io.github.diegorscs.dto.PersonBatchItemResponse;
+import io.github.diegorscs.dto.PersonImportRejection;
+import io.github.diegorscs.dto.PersonImportResponse;
+import io.github.diegorscs.dto.PersonLookupRequest;
+import io.github.diegorscs.dto.PersonLookupResponse;
+import io.github.diegorscs.dto.PersonPageResponse;
 import io.github.diegorscs.dto.PersonRequest;
 import io.github.diegorscs.dto.PersonResponse;
+import io.github.diegorscs.dto.PersonSearchHit;
+import io.github.diegorscs.dto.PersonSearchResponse;
 import io.github.diegorscs.exceptions.ExceptionResponse;
 import io.github.diegorscs.integration.testcontainers.AbstractIntegrationTest;
+import io.github.diegorscs.model.BatchItemStatus;
 import io.github.diegorscs.model.Gender;
+import io.github.diegorscs.model.ImportRejectionReason;
 import io.github.diegorscs.model.Person;
 import io.github.diegorscs.repository.PersonRepository;
 import io.github.diegorscs.sample.PersonSample;
@@ -19,6 +29,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -105,6 +116,100 @@ class PersonControllerIntegrationTest extends AbstractIntegrationTest {
                 .isEqualTo("Person already exist with given e-Mail: " + personRequest.getEmail());
     }
 
+    @Test
+    void shouldImportValidRowsAndReportRejections_whenImportCsv() throws JsonProcessingException {
+        Person existingPerson = personRepository.save(PersonSample.createPerson());
+        String csv = """
+                firstName,lastName,address,gender,email
+                John,Doe,"Street 1, City",MALE,john@import.com
+                Jane,Doe,City,FEMALE,JOHN@import.com
+                Mary,Doe,City,OTHER,mary@import.com
+                Anna,,City,FEMALE,anna@import.com
+                Paul,Doe,City,MALE,%s
+                Lisa,Doe,City,FEMALE,lisa@import.com
+                """.formatted(existingPerson.getEmail());
+
+        String responseBody = given()
+                .spec(requestSpecification)
+                .contentType("text/csv")
+                .accept(CONTENT_TYPE)
+                .body(csv)
+                .when()
+                .post("/import")
+                .then()
+                .statusCode(200)
+                .extract()
+                .body()
+                .asString();
+
+        PersonImportResponse response = objectMapper.readValue(responseBody, PersonImportResponse.class);
+
+        assertThat(response)
+                .extracting(PersonImportResponse::getReceived, PersonImportResponse::getImported,
+                        PersonImportResponse::getRejected)
+                .containsExactly(6L, 2L, 4L);
+        assertThat(response.getRejections())
+                .extracting(PersonImportRejection::getRow, PersonImportRejection::getReason)
+                .containsExactly(tuple(2L, ImportRejectionReason.DUPLICATE_EMAIL),
+                        tuple(3L, ImportRejectionReason.INVALID_GENDER),
+                        tuple(4L, ImportRejectionReason.MISSING_FIELD),
+                        tuple(5L, ImportRejectionReason.EMAIL_ALREADY_EXISTS));
+        assertThat(personRepository.findByEmail("john@import.com"))
+                .hasValueSatisfying(person -> assertThat(person.getAddress()).isEqualTo("Street 1, City"));
+        assertThat(personRepository.count()).isEqualTo(3);
+
+        given()
+                .spec(requestSpecification)
+                .contentType(CONTENT_TYPE)
+                .body(PersonSample.createPersonRequest())
+                .when()
+                .post()
+                .then()
+                .statusCode(201);
+    }
+
+    @Test
+    void shouldReturnBadRequest_whenImportMalformedCsv() {
+        given()
+                .spec(requestSpecification)
+                .contentType("text/csv")
+                .body("firstName,lastName,address,gender,email\nJohn,Doe,City,MALE,john@import.com,extra\n")
+                .when()
+                .post("/import")
+                .then()
+                .statusCode(400);
+
+        assertThat(personRepository.count()).isZero();
+    }
+
+    @Test
+    void shouldCreateNewPersonsAndReportConflicts_whenCreateAll() throws JsonProcessingException {
+        Person existingPerson = personRepository.save(PersonSample.createPerson());
+        PersonRequest conflictingRequest = PersonSample.createPersonRequest();
+        conflictingRequest.setEmail(existingPerson.getEmail());
+        PersonRequest newRequest = PersonSample.createPersonRequest();
+
+        String responseBody = given()
+                .spec(requestSpecification)
+                .contentType(CONTENT_TYPE)
+                .accept(CONTENT_TYPE)
+                .body(List.of(newRequest, conflictingRequest))
+                .when()
+                .post("/batch")
+                .then()
+                .statusCode(200)
+                .extract()
+                .body()
+                .asString();
+
+        List<PersonBatchItemResponse> items = Arrays.asList(objectMapper.readValue(responseBody, PersonBatchItemResponse[].class));
+
+        assertThat(items)
+                .extracting(PersonBatchItemResponse::getIndex, PersonBatchItemResponse::getStatus)
+                .containsExactly(tuple(0, BatchItemStatus.CREATED), tuple(1, BatchItemStatus.CONFLICT));
+        assertThat(items.get(0).getPerson().getId()).isNotNull();
+        assertThat(personRepository.count()).isEqualTo(2);
+    }
 
     @Test
     void shouldReturnUpdatedPerson_whenUpdate() throws JsonProcessingException {
@@ -150,6 +255,57 @@ class PersonControllerIntegrationTest extends AbstractIntegrationTest {
 
     }
 
+    @Test
+    void shouldHonourETags_whenConditionalGetAndUpdate() {
+        Person savedPerson = personRepository.save(PersonSample.createPerson());
+        Long personId = savedPerson.getId();
+
+        String etag = given()
+                .spec(requestSpecification)
+                .pathParam("id", personId)
+                .when()
+                .get("{id}")
+                .then()
+                .statusCode(200)
+                .extract()
+                .header("ETag");
+
+        String updatedEtag = given()
+                .spec(requestSpecification)
+                .contentType(CONTENT_TYPE)
+                .header("If-Match", etag)
+                .pathParam("id", personId)
+                .body(PersonSample.createPersonRequest())
+                .when()
+                .put("{id}")
+                .then()
+                .statusCode(200)
+                .extract()
+                .header("ETag");
+
+        given()
+                .spec(requestSpecification)
+                .contentType(CONTENT_TYPE)
+                .header("If-Match", etag)
+                .pathParam("id", personId)
+                .body(PersonSample.createPersonRequest())
+                .when()
+                .put("{id}")
+                .then()
+                .statusCode(412);
+
+        given()
+                .spec(requestSpecification)
+                .header("If-None-Match", updatedEtag)
+                .pathParam("id", personId)
+                .when()
+                .get("{id}")
+                .then()
+                .statusCode(304);
+
+        assertThat(updatedEtag).isNotEqualTo(etag);
+    }
+
     @Test
     void shouldReturnNotFound_whenUpdatingAPersonWithNonExistentId() throws JsonProcessingException {
         Person personToBeSaved = PersonSample.createPerson();
@@ -237,6 +393,45 @@ class PersonControllerIntegrationTest extends AbstractIntegrationTest {
                 .isEqualTo("No records found for this ID!");
     }
 
+    @Test
+    void shouldReturnPersonsInRequestOrderAndMissingIds_whenFindByIdsAndLookup() throws JsonProcessingException {
+        List<Person> savedPeople = personRepository.saveAll(PersonSample.createPersonList());
+        Long first = savedPeople.get(0).getId();
+        Long last = savedPeople.get(2).getId();
+        long missing = last + 1_000;
+
+        String queryResponse = given()
+                .spec(requestSpecification)
+                .accept(CONTENT_TYPE)
+                .param("ids", last + "," + missing + "," + first)
+                .when()
+                .get()
+                .then()
+                .statusCode(200)
+                .extract()
+                .body()
+                .asString();
+
+        String bodyResponse = given()
+                .spec(requestSpecification)
+                .contentType(CONTENT_TYPE)
+                .accept(CONTENT_TYPE)
+                .body(new PersonLookupRequest(List.of(last, missing, first)))
+                .when()
+                .post("/lookup")
+                .then()
+                .statusCode(200)
+                .extract()
+                .body()
+                .asString();
+
+        for (String responseBody : List.of(queryResponse, bodyResponse)) {
+            PersonLookupResponse response = objectMapper.readValue(responseBody, PersonLookupResponse.class);
+            assertThat(response.getContent()).extracting(PersonResponse::getId).containsExactly(last, first);
+            assertThat(response.getMissing()).containsExactly(missing);
+        }
+    }
+
     @Test
     void shouldReturnAPersonsList_whenFindAll() throws JsonProcessingException {
         List<Person> personList = PersonSample.createPersonList();
@@ -265,6 +460,151 @@ class PersonControllerIntegrationTest extends AbstractIntegrationTest {
                 );
     }
 
+    @Test
+    void shouldWalkAllPages_whenFindPage() throws JsonProcessingException {
+        List<Person> personList = PersonSample.createPersonList();
+        personRepository.saveAll(personList);
+
+        String firstPageBody = given()
+                .spec(requestSpecification)
+                .accept(CONTENT_TYPE)
+                .param("limit", 2)
+                .when()
+                .get("/page")
+                .then()
+                .statusCode(200)
+                .extract()
+                .body()
+                .asString();
+
+        PersonPageResponse firstPage = objectMapper.readValue(firstPageBody, PersonPageResponse.class);
+
+        String secondPageBody = given()
+                .spec(requestSpecification)
+                .accept(CONTENT_TYPE)
+                .param("limit", 2)
+                .param("after", firstPage.getNextCursor())
+                .when()
+                .get("/page")
+                .then()
+                .statusCode(200)
+                .extract()
+                .body()
+                .asString();
+
+        PersonPageResponse secondPage = objectMapper.readValue(secondPageBody, PersonPageResponse.class);
+
+        assertThat(firstPage.getContent()).hasSize(2);
+        assertThat(firstPage.getNextCursor()).isNotNull();
+        assertThat(secondPage.getContent())
+                .hasSize(1)
+                .extracting(PersonResponse::getEmail)
+                .containsExactly(personList.get(2).getEmail());
+        assertThat(secondPage.getNextCursor()).isNull();
+    }
+
+    @Test
+    void shouldReturnNoCursor_whenPageEndsOnLastPerson() throws JsonProcessingException {
+        personRepository.saveAll(PersonSample.createPersonList());
+
+        String pageBody = given()
+                .spec(requestSpecification)
+                .accept(CONTENT_TYPE)
+                .param("limit", 3)
+                .when()
+                .get("/page")
+                .then()
+                .statusCode(200)
+                .extract()
+                .body()
+                .asString();
+
+        PersonPageResponse page = objectMapper.readValue(pageBody, PersonPageResponse.class);
+
+        assertThat(page.getContent()).hasSize(3);
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void shouldStreamAllPersons_whenExport() throws JsonProcessingException {
+        List<Person> personList = PersonSample.createPersonList();
+        personRepository.saveAll(personList);
+
+        String responseBody = given()
+                .spec(requestSpecification)
+                .accept("application/x-ndjson")
+                .when()
+                .get("/export")
+                .then()
+                .statusCode(200)
+                .contentType("application/x-ndjson")
+                .extract()
+                .body()
+                .asString();
+
+        List<String> lines = responseBody.lines().toList();
+        List<PersonResponse> people = new ArrayList<>();
+        for (String line : lines) {
+            people.add(objectMapper.readValue(line, PersonResponse.class));
+        }
+
+        assertThat(people)
+                .extracting(PersonResponse::getEmail)
+                .containsExactly(personList.get(0).getEmail(), personList.get(1).getEmail(), personList.get(2).getEmail());
+    }
+
+    @Test
+    void shouldExportEveryPersonAsCsvOrderedById_whenExportCsv() {
+        List<Person> personList = personRepository.saveAll(List.of(
+                new Person("John", "Doe", "Street 1, City", Gender.MALE, "john@email.com"),
+                new Person("Jane", "Doe", "City", Gender.FEMALE, "jane@email.com")));
+
+        String responseBody = given()
+                .spec(requestSpecification)
+                .when()
+                .get("/export.csv")
+                .then()
+                .statusCode(200)
+                .contentType("text/csv")
+                .extract()
+                .body()
+                .asString();
+
+        assertThat(responseBody.lines().toList()).containsExactly(
+                "id,firstName,lastName,address,gender,email",
+                personList.get(0).getId() + ",John,Doe,\"Street 1, City\",MALE,john@email.com",
+                personList.get(1).getId() + ",Jane,Doe,City,FEMALE,jane@email.com");
+    }
+
+    @Test
+    void shouldRankNameMatchesFirstAndHighlight_whenSearch() throws JsonProcessingException {
+        List<Person> personList = personRepository.saveAll(List.of(
+                new Person("Paulo", "Silva", "Rua Augusta, 10 - São Paulo", Gender.MALE, "paulo@email.com"),
+                new Person("Jane", "Doe", "Avenida Paulista, 1000 - São Paulo", Gender.FEMALE, "jane@email.com"),
+                new Person("John", "Doe", "Rua Vergueiro, 5 - Santos", Gender.MALE, "john@email.com")));
+
+        String responseBody = given()
+                .spec(requestSpecification)
+                .queryParam("q", "paul")
+                .queryParam("highlight", true)
+                .when()
+                .get("/search")
+                .then()
+                .statusCode(200)
+                .extract()
+                .body()
+                .asString();
+
+        PersonSearchResponse response = objectMapper.readValue(responseBody, PersonSearchResponse.class);
+
+        assertThat(response.getContent())
+                .extracting(PersonSearchHit::getId)
+                .containsExactly(personList.get(0).getId(), personList.get(1).getId());
+        assertThat(response.getContent().get(0).getRank()).isGreaterThan(response.getContent().get(1).getRank());
+        assertThat(response.getContent().get(1).getHighlight()).contains("<mark>Paulista</mark>");
+        assertThat(response.getNextPage()).isNull();
+    }
+
     @Test
     void shouldDoNothing_whenDelete() {
         Person personToBeSaved = PersonSample.createPerson();
@@ -0,0 +1,162 @@
+package io.github.diegorscs.integration.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.github.diegorscs.dto.PersonRequest;
+import io.github.diegorscs.dto.PersonResponse;
+import io.github.diegorscs.exceptions.ExceptionResponse;
+import io.github.diegorscs.integration.testcontainers.AbstractIntegrationTest;
+import io.github.diegorscs.repository.PersonRepository;
+import io.github.diegorscs.sample.PersonSample;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.filter.log.LogDetail;
+import io.restassured.filter.log.RequestLoggingFilter;
+import io.restassured.filter.log.ResponseLoggingFilter;
+import io.restassured.specification.RequestSpecification;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Arrays;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.startsWith;
+
+@ActiveProfiles({"test", "reactive"})
+class ReactivePersonControllerIntegrationTest extends AbstractIntegrationTest {
+
+    private RequestSpecification requestSpecification;
+    private final String CONTENT_TYPE = "application/json";
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @BeforeEach
+    void init() {
+        requestSpecification = new RequestSpecBuilder()
+                .setBasePath("/api/v1/persons")
+                .setPort(port)
+                .addFilter(new RequestLoggingFilter(LogDetail.ALL))
+                .addFilter(new ResponseLoggingFilter(LogDetail.ALL))
+                .build();
+        personRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void shouldCreateAndFindPerson_whenUsingReactiveStack() throws JsonProcessingException {
+        PersonRequest personToBeCreated = PersonSample.createPersonRequest();
+
+        PersonResponse created = objectMapper.readValue(given()
+                .spec(requestSpecification)
+                .contentType(CONTENT_TYPE)
+                .body(personToBeCreated)
+                .when()
+                .post()
+                .then()
+                .statusCode(201)
+                .header("ETag", "\"0\"")
+                .extract()
+                .body()
+                .asString(), PersonResponse.class);
+
+        PersonResponse[] people = objectMapper.readValue(given()
+                .spec(requestSpecification)
+                .when()
+                .get()
+                .then()
+                .statusCode(200)
+                .extract()
+                .body()
+                .asString(), PersonResponse[].class);
+
+        assertThat(created.getId()).isNotNull();
+        assertThat(Arrays.asList(people)).containsExactly(created);
+    }
+
+    @Test
+    void shouldReturnConflict_whenCreateWithExistingEmail() throws JsonProcessingException {
+        PersonRequest personToBeCreated = PersonSample.createPersonRequest();
+        given().spec(requestSpecification).contentType(CONTENT_TYPE).body(personToBeCreated)
+                .when().post().then().statusCode(201);
+
+        ExceptionResponse error = objectMapper.readValue(given()
+                .spec(requestSpecification)
+                .contentType(CONTENT_TYPE)
+                .body(personToBeCreated)
+                .when()
+                .post()
+                .then()
+                .statusCode(409)
+                .extract()
+                .body()
+                .asString(), ExceptionResponse.class);
+
+        assertThat(error.getDetails()).isEqualTo("uri=/api/v1/persons");
+    }
+
+    @Test
+    void shouldReturnPreconditionFailed_whenUpdateWithStaleVersion() throws JsonProcessingException {
+        PersonResponse created = objectMapper.readValue(given()
+                .spec(requestSpecification)
+                .contentType(CONTENT_TYPE)
+                .body(PersonSample.createPersonRequest())
+                .when()
+                .post()
+                .then()
+                .statusCode(201)
+                .extract()
+                .body()
+                .asString(), PersonResponse.class);
+
+        given().spec(requestSpecification)
+                .contentType(CONTENT_TYPE)
+                .header("If-Match", "\"5\"")
+                .body(PersonSample.createPersonRequest())
+                .when()
+                .put("/{id}", created.getId())
+                .then()
+                .statusCode(412);
+    }
+
+    @Test
+    void shouldServeLookupSearchAndCsvExport_whenUsingReactiveStack() throws JsonProcessingException {
+        PersonResponse created = objectMapper.readValue(given()
+                .spec(requestSpecification)
+                .contentType(CONTENT_TYPE)
+                .body(PersonSample.createPersonRequest())
+                .when()
+                .post()
+                .then()
+                .statusCode(201)
+                .extract()
+                .body()
+                .asString(), PersonResponse.class);
+        long missingId = created.getId() + 1_000;
+
+        given().spec(requestSpecification)
+                .param("ids", missingId + "," + created.getId())
+                .when()
+                .get()
+                .then()
+                .statusCode(200)
+                .body("content.id", contains(created.getId().intValue()))
+                .body("missing", contains((int) missingId));
+
+        given().spec(requestSpecification)
+                .param("q", created.getFirstName())
+                .when()
+                .get("/search")
+                .then()
+                .statusCode(200)
+                .body("content.id", contains(created.getId().intValue()));
+
+        given().spec(requestSpecification)
+                .when()
+                .get("/export.csv")
+                .then()
+                .statusCode(200)
+                .body(startsWith("id,firstName,lastName,address,gender,email\n" + created.getId() + ","));
+    }
+}
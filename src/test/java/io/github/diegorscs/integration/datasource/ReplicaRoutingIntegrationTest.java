@@ -0,0 +1,200 @@
+package io.github.diegorscs.integration.datasource;
+
+import io.github.diegorscs.datasource.ReadYourWrites;
+import io.github.diegorscs.datasource.ReplicaLagMonitor;
+import io.github.diegorscs.datasource.ReplicaRoutingDataSource;
+import io.github.diegorscs.dto.PersonRequest;
+import io.github.diegorscs.integration.testcontainers.AbstractIntegrationTest;
+import io.github.diegorscs.model.Gender;
+import io.github.diegorscs.repository.PersonRepository;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.specification.RequestSpecification;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Runs against two independent PostgreSQL containers, the second configured as the only replica. Nothing
+ * replicates between them, so a row inserted only into the replica shows which database served a read.
+ */
+class ReplicaRoutingIntegrationTest extends AbstractIntegrationTest {
+
+    private static final String REPLICA_ONLY_EMAIL = "replica-only@replica.com";
+
+    static final PostgreSQLContainer<?> REPLICA_CONTAINER =
+            new PostgreSQLContainer<>("postgres:15")
+                    .withDatabaseName("replicadb")
+                    .withUsername("postgres")
+                    .withPassword("postgres");
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    private static long replicaOnlyId;
+
+    private RequestSpecification requestSpecification;
+
+    @BeforeAll
+    static void startReplica() throws SQLException {
+        REPLICA_CONTAINER.start();
+        Flyway.configure()
+                .dataSource(REPLICA_CONTAINER.getJdbcUrl(), REPLICA_CONTAINER.getUsername(), REPLICA_CONTAINER.getPassword())
+                .locations("classpath:db/migration", "classpath:db/vendor/postgresql")
+                .load()
+                .migrate();
+        try (Connection connection = DriverManager.getConnection(REPLICA_CONTAINER.getJdbcUrl(),
+                REPLICA_CONTAINER.getUsername(), REPLICA_CONTAINER.getPassword());
+             Statement statement = connection.createStatement()) {
+            statement.executeUpdate("DELETE FROM person");
+            try (ResultSet inserted = statement.executeQuery("INSERT INTO person (first_name, last_name, address, gender, email) "
+                    + "VALUES ('Replica', 'Only', 'Standby', 'FEMALE', '" + REPLICA_ONLY_EMAIL + "') RETURNING id")) {
+                inserted.next();
+                replicaOnlyId = inserted.getLong(1);
+            }
+        }
+    }
+
+    @AfterAll
+    static void stopReplica() {
+        REPLICA_CONTAINER.stop();
+    }
+
+    @DynamicPropertySource
+    static void configureReplica(DynamicPropertyRegistry registry) {
+        registry.add("persons.replicas.urls[0]", REPLICA_CONTAINER::getJdbcUrl);
+        registry.add("persons.replicas.check-interval", () -> "1h");
+    }
+
+    @BeforeEach
+    void init() {
+        requestSpecification = new RequestSpecBuilder()
+                .setBasePath("/api/v1/persons")
+                .setPort(port)
+                .build();
+        personRepository.deleteAllInBatch();
+        replicaLagMonitor.check();
+    }
+
+    @Test
+    void shouldServeReadsFromReplica_whenReplicaInRotation() {
+        assertThat(replicaRoutingDataSource.getReplicas())
+                .singleElement()
+                .satisfies(replica -> {
+                    assertThat(replica.isInRotation()).isTrue();
+                    assertThat(replica.getLag()).isEqualTo(Duration.ZERO);
+                });
+
+        findByEmail(REPLICA_ONLY_EMAIL, null, 200);
+    }
+
+    @Test
+    void shouldServeEachReadOnlyLookupFromReplica_whenReplicaInRotation() {
+        given().spec(requestSpecification)
+                .when()
+                .get()
+                .then()
+                .statusCode(200)
+                .body("email", contains(REPLICA_ONLY_EMAIL));
+
+        given().spec(requestSpecification)
+                .when()
+                .get("/{id}", replicaOnlyId)
+                .then()
+                .statusCode(200)
+                .body("email", equalTo(REPLICA_ONLY_EMAIL));
+
+        given().spec(requestSpecification)
+                .param("value", REPLICA_ONLY_EMAIL.toUpperCase())
+                .when()
+                .get("/email")
+                .then()
+                .statusCode(200)
+                .body("id", equalTo((int) replicaOnlyId));
+
+        given().spec(requestSpecification)
+                .param("term", "Replica")
+                .when()
+                .get("/like-name")
+                .then()
+                .statusCode(200)
+                .body("email", contains(REPLICA_ONLY_EMAIL));
+    }
+
+    @Test
+    void shouldAnswerNotModifiedFromReplica_whenIfNoneMatchPollsVersion() {
+        given().spec(requestSpecification)
+                .header("If-None-Match", "\"0\"")
+                .when()
+                .get("/{id}", replicaOnlyId)
+                .then()
+                .statusCode(304)
+                .header("ETag", "\"0\"");
+    }
+
+    @Test
+    void shouldReadOwnWriteFromPrimary_whenPinningCookieIsSent() {
+        PersonRequest request = new PersonRequest("Primary", "Writer", "Main - Street", Gender.MALE, "writer@primary.com");
+
+        String cookie = given()
+                .spec(requestSpecification)
+                .contentType("application/json")
+                .body(request)
+                .when()
+                .post()
+                .then()
+                .statusCode(201)
+                .extract()
+                .cookie(ReadYourWrites.COOKIE);
+
+        assertThat(cookie).isNotBlank();
+        findByEmail(request.getEmail(), null, 404);
+        findByEmail(request.getEmail(), cookie, 200);
+        findByEmail(REPLICA_ONLY_EMAIL, cookie, 404);
+    }
+
+    @Test
+    void shouldFallBackToPrimary_whenReplicaLagsBehind() {
+        replicaRoutingDataSource.getReplicas().get(0).update(Duration.ofMinutes(1), false);
+
+        findByEmail(REPLICA_ONLY_EMAIL, null, 404);
+
+        replicaLagMonitor.check();
+
+        findByEmail(REPLICA_ONLY_EMAIL, null, 200);
+    }
+
+    private void findByEmail(String email, String cookie, int expectedStatus) {
+        RequestSpecification request = given().spec(requestSpecification).param("value", email);
+        if (cookie != null) {
+            request.cookie(ReadYourWrites.COOKIE, cookie);
+        }
+        request.when()
+                .get("/email")
+                .then()
+                .statusCode(expectedStatus);
+    }
+}
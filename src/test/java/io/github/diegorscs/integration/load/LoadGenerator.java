@@ -0,0 +1,165 @@
+package io.github.diegorscs.integration.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Open-loop load generator: requests are issued on a fixed schedule at {@code rate} per second regardless of
+ * how fast responses come back, and latency is measured from the scheduled start so a slow server is not
+ * hidden by coordinated omission. Each endpoint gets its own HdrHistogram.
+ */
+public class LoadGenerator {
+
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final HttpClient client;
+    private final Map<String, Endpoint> endpoints = new LinkedHashMap<>();
+    private int totalWeight;
+
+    public LoadGenerator(HttpClient client) {
+        this.client = client;
+    }
+
+    /**
+     * Registers an endpoint with its share of the mix. The supplier returns {@code null} when there is nothing
+     * to send, which is counted as skipped.
+     */
+    public LoadGenerator endpoint(String name, int weight, Supplier<HttpRequest> request, int... expectedStatus) {
+        if (weight > 0) {
+            endpoints.put(name, new Endpoint(name, weight, request, expectedStatus));
+            totalWeight += weight;
+        }
+        return this;
+    }
+
+    public void run(int rate, Duration duration) {
+        endpoints.values().forEach(Endpoint::reset);
+        long interval = TimeUnit.SECONDS.toNanos(1) / rate;
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        List<CompletableFuture<?>> inFlight = new ArrayList<>();
+
+        for (long scheduled = start; scheduled < end; scheduled += interval) {
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Endpoint endpoint = pick();
+            HttpRequest request = endpoint.request.get();
+            if (request == null) {
+                endpoint.skipped.increment();
+                continue;
+            }
+            long intendedStart = scheduled;
+            inFlight.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> endpoint.record(intendedStart, response, error)));
+        }
+        CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new))
+                .completeOnTimeout(null, 1, TimeUnit.MINUTES)
+                .join();
+    }
+
+    public void report(PrintStream out, Duration duration) {
+        out.printf("%n%-10s %8s %10s %9s %9s %9s %9s %9s %7s %7s%n", "endpoint", "count", "rate", "p50 (ms)",
+                "p90 (ms)", "p99 (ms)", "p99.9 (ms)", "max (ms)", "errors", "skipped");
+        for (Endpoint endpoint : endpoints.values()) {
+            Histogram histogram = endpoint.histogram;
+            out.printf("%-10s %8d %8.1f/s %9.2f %9.2f %9.2f %9.2f %9.2f %7d %7d%n", endpoint.name,
+                    histogram.getTotalCount(), histogram.getTotalCount() / (double) duration.toSeconds(),
+                    millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(90)),
+                    millis(histogram.getValueAtPercentile(99)), millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue()), endpoint.errors.sum(), endpoint.skipped.sum());
+        }
+    }
+
+    /**
+     * Writes one {@code .hgrm} percentile distribution per endpoint, in milliseconds, for plotting or diffing
+     * against a previous run.
+     */
+    public void writeDistributions(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        for (Endpoint endpoint : endpoints.values()) {
+            try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(endpoint.name + ".hgrm")))) {
+                endpoint.histogram.outputPercentileDistribution(out, 1_000_000.0);
+            }
+        }
+    }
+
+    public long count(String name) {
+        return endpoints.get(name).histogram.getTotalCount();
+    }
+
+    private Endpoint pick() {
+        int value = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Endpoint endpoint : endpoints.values()) {
+            value -= endpoint.weight;
+            if (value < 0) {
+                return endpoint;
+            }
+        }
+        throw new IllegalStateException("No endpoint registered");
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static final class Endpoint {
+        private final String name;
+        private final int weight;
+        private final Supplier<HttpRequest> request;
+        private final int[] expectedStatus;
+        private final Histogram histogram = new ConcurrentHistogram(HIGHEST_TRACKABLE_NANOS, 3);
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder skipped = new LongAdder();
+
+        private Endpoint(String name, int weight, Supplier<HttpRequest> request, int[] expectedStatus) {
+            this.name = name;
+            this.weight = weight;
+            this.request = request;
+            this.expectedStatus = expectedStatus;
+        }
+
+        private void reset() {
+            histogram.reset();
+            errors.reset();
+            skipped.reset();
+        }
+
+        private void record(long intendedStart, HttpResponse<?> response, Throwable error) {
+            if (error != null || !isExpected(response.statusCode())) {
+                errors.increment();
+                return;
+            }
+            histogram.recordValue(Math.min(System.nanoTime() - intendedStart, HIGHEST_TRACKABLE_NANOS));
+        }
+
+        private boolean isExpected(int status) {
+            for (int expected : expectedStatus) {
+                if (expected == status) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
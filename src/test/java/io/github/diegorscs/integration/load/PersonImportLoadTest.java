@@ -0,0 +1,99 @@
+package io.github.diegorscs.integration.load;
+
+import io.github.diegorscs.dto.PersonImportResponse;
+import io.github.diegorscs.integration.testcontainers.AbstractIntegrationTest;
+import io.github.diegorscs.repository.PersonRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Streams a generated CSV of {@code load.import-rows} persons (1,000,000 by default) to the import endpoint and
+ * prints the throughput. The file is produced while it is sent, so neither side ever holds it in memory. Run
+ * with {@code ./mvnw -P load test -Dtest=PersonImportLoadTest}.
+ */
+@Tag("load")
+class PersonImportLoadTest extends AbstractIntegrationTest {
+
+    private static final int ROWS = Integer.getInteger("load.import-rows", 1_000_000);
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Test
+    void shouldReportRowsPerSecond_whenImportCsv() throws Exception {
+        personRepository.deleteAllInBatch();
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/persons/import"))
+                .header("Content-Type", "text/csv")
+                .timeout(Duration.ofMinutes(10))
+                .POST(HttpRequest.BodyPublishers.ofInputStream(() -> new GeneratedCsv(ROWS)))
+                .build();
+
+        long start = System.nanoTime();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        long elapsed = System.nanoTime() - start;
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        PersonImportResponse result = objectMapper.readValue(response.body(), PersonImportResponse.class);
+        System.out.printf("%nimported %d of %d rows in %d ms (%.0f rows/s)%n", result.getImported(),
+                result.getReceived(), TimeUnit.NANOSECONDS.toMillis(elapsed),
+                result.getReceived() / (elapsed / 1_000_000_000.0));
+        assertThat(result.getImported()).isEqualTo(ROWS);
+        assertThat(personRepository.count()).isEqualTo(ROWS);
+    }
+
+    private static final class GeneratedCsv extends InputStream {
+        private final int rows;
+        private int row = -1;
+        private byte[] current = "firstName,lastName,address,gender,email\n".getBytes(StandardCharsets.UTF_8);
+        private int position;
+
+        private GeneratedCsv(int rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public int read() {
+            if (!fill()) {
+                return -1;
+            }
+            return current[position++];
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            if (!fill()) {
+                return -1;
+            }
+            int count = Math.min(length, current.length - position);
+            System.arraycopy(current, position, buffer, offset, count);
+            position += count;
+            return count;
+        }
+
+        private boolean fill() {
+            while (position == current.length) {
+                if (++row >= rows) {
+                    return false;
+                }
+                current = ("FirstName%d,LastName%d,City - State - Country,%s,import%d@load.com\n"
+                        .formatted(row, row, row % 2 == 0 ? "MALE" : "FEMALE", row))
+                        .getBytes(StandardCharsets.UTF_8);
+                position = 0;
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package io.github.diegorscs.integration.load;
+
+import io.github.diegorscs.integration.testcontainers.AbstractIntegrationTest;
+import io.github.diegorscs.model.Person;
+import io.github.diegorscs.repository.PersonRepository;
+import io.github.diegorscs.sample.PersonSample;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives a weighted mix of person endpoints at a fixed rate against the app running on Testcontainers Postgres
+ * and prints per-endpoint throughput and HdrHistogram percentiles. Run with {@code ./mvnw -P load test}; tune it
+ * with {@code load.people}, {@code load.rate}, {@code load.warmup-seconds}, {@code load.duration-seconds} and
+ * {@code load.mix} (for example {@code findById=50,email=20,like-name=10,create=10,update=5,delete=5}).
+ * The person cache is enabled as in production, overriding the {@code test} profile; run again with
+ * {@code -Dload.cache=false} to measure every read reaching the database.
+ */
+@Tag("load")
+class PersonLoadTest extends AbstractIntegrationTest {
+
+    private static final int PEOPLE = Integer.getInteger("load.people", 10_000);
+    private static final int RATE = Integer.getInteger("load.rate", 200);
+    private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("load.warmup-seconds", 10));
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("load.duration-seconds", 60));
+    private static final String MIX = System.getProperty("load.mix",
+            "findById=40,email=20,like-name=15,create=10,update=10,delete=5");
+    private static final boolean CACHE = Boolean.parseBoolean(System.getProperty("load.cache", "true"));
+    private static final Path REPORT_DIRECTORY = Path.of("target", "load", CACHE ? "cache-enabled" : "cache-disabled");
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @DynamicPropertySource
+    static void configureCache(DynamicPropertyRegistry registry) {
+        registry.add("persons.cache.enabled", () -> CACHE);
+    }
+
+    @Test
+    void shouldReportLatencyPercentiles_forEachEndpoint() throws Exception {
+        Map<String, Integer> mix = parseMix(MIX);
+        personRepository.deleteAllInBatch();
+        List<Person> people = seed("load", PEOPLE);
+        Queue<Long> deletable = new ConcurrentLinkedQueue<>(seed("deletable", expectedCalls(mix, "delete")).stream()
+                .map(Person::getId)
+                .toList());
+
+        String baseUrl = "http://localhost:" + port + "/api/v1/persons";
+        AtomicLong created = new AtomicLong();
+        LoadGenerator generator = new LoadGenerator(HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build())
+                .endpoint("findById", mix.getOrDefault("findById", 0),
+                        () -> get(baseUrl + "/" + random(people).getId()), 200)
+                .endpoint("email", mix.getOrDefault("email", 0),
+                        () -> get(baseUrl + "/email?value=" + encode(random(people).getEmail())), 200)
+                .endpoint("like-name", mix.getOrDefault("like-name", 0),
+                        () -> get(baseUrl + "/like-name?limit=20&term=" + encode(random(people).getFirstName())), 200)
+                .endpoint("create", mix.getOrDefault("create", 0),
+                        () -> send(baseUrl, "POST", body("created" + created.incrementAndGet() + "@load.com")), 201)
+                .endpoint("update", mix.getOrDefault("update", 0), () -> {
+                    Person person = random(people);
+                    return send(baseUrl + "/" + person.getId(), "PUT", body(person.getEmail()));
+                }, 200)
+                .endpoint("delete", mix.getOrDefault("delete", 0), () -> {
+                    Long id = deletable.poll();
+                    return id == null ? null : HttpRequest.newBuilder(URI.create(baseUrl + "/" + id)).DELETE().build();
+                }, 204);
+
+        generator.run(RATE, WARMUP);
+        generator.run(RATE, DURATION);
+        System.out.printf("%nPerson cache %s%n", CACHE ? "enabled" : "disabled");
+        generator.report(System.out, DURATION);
+        generator.writeDistributions(REPORT_DIRECTORY);
+
+        assertThat(mix.keySet()).allSatisfy(name -> assertThat(generator.count(name)).isPositive());
+    }
+
+    private List<Person> seed(String prefix, int count) {
+        return personRepository.saveAll(PersonSample.createPersonList(prefix, count));
+    }
+
+    private int expectedCalls(Map<String, Integer> mix, String name) {
+        int totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+        long seconds = WARMUP.toSeconds() + DURATION.toSeconds();
+        return (int) Math.ceil(RATE * seconds * mix.getOrDefault(name, 0) / (double) totalWeight * 1.2);
+    }
+
+    private static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            weights.put(parts[0], Integer.parseInt(parts[1]));
+        }
+        return weights;
+    }
+
+    private static Person random(List<Person> people) {
+        return people.get(ThreadLocalRandom.current().nextInt(people.size()));
+    }
+
+    private static HttpRequest get(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).GET().build();
+    }
+
+    private static HttpRequest send(String url, String method, String body) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static String body(String email) {
+        return """
+                {"firstName":"Load","lastName":"Test","address":"City - State - Country","gender":"MALE","email":"%s"}"""
+                .formatted(email);
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
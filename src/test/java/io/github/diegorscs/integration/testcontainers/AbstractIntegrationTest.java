@@ -44,6 +44,7 @@ public abstract class AbstractIntegrationTest {
 
         Flyway flyway = Flyway.configure()
                 .dataSource(POSTGRES_CONTAINER.getJdbcUrl(), POSTGRES_CONTAINER.getUsername(), POSTGRES_CONTAINER.getPassword())
+                .locations("classpath:db/migration", "classpath:db/vendor/postgresql")
                 .load();
         flyway.migrate();
     }
@@ -58,5 +59,9 @@ public abstract class AbstractIntegrationTest {
         registry.add("spring.datasource.url", POSTGRES_CONTAINER::getJdbcUrl);
         registry.add("spring.datasource.username", POSTGRES_CONTAINER::getUsername);
         registry.add("spring.datasource.password", POSTGRES_CONTAINER::getPassword);
+        registry.add("spring.r2dbc.url", () -> "r2dbc:postgresql://%s:%d/%s".formatted(POSTGRES_CONTAINER.getHost(),
+                POSTGRES_CONTAINER.getFirstMappedPort(), POSTGRES_CONTAINER.getDatabaseName()));
+        registry.add("spring.r2dbc.username", POSTGRES_CONTAINER::getUsername);
+        registry.add("spring.r2dbc.password", POSTGRES_CONTAINER::getPassword);
     }
 }
\ No newline at end of file
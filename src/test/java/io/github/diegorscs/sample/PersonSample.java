@@ -1,6 +1,7 @@
 package io.github.diegorscs.sample;
 
 import io.github.diegorscs.dto.PersonRequest;
+import io.github.diegorscs.dto.PersonResponse;
 import io.github.diegorscs.model.Gender;
 import io.github.diegorscs.model.Person;
 
@@ -26,14 +27,35 @@ public class PersonSample {
     }
 
     public static List<Person> createPersonList() {
-        ArrayList<Person> personList = new ArrayList<>();
-        for (int i = 0; i < 3; i++) {
+        return createPersonList("email", 3);
+    }
+
+    public static List<Person> createPersonList(String emailPrefix, int count) {
+        ArrayList<Person> personList = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
             personList.add(new Person("FirstName" + i,
                     "LastName" + i,
                     "City - State - Country",
                     Gender.MALE,
-                    "email" + i + "@email.com"));
+                    emailPrefix + i + "@email.com"));
         }
         return personList;
     }
+
+    public static List<PersonResponse> createPersonResponseList() {
+        return createPersonResponseList(3);
+    }
+
+    public static List<PersonResponse> createPersonResponseList(int count) {
+        ArrayList<PersonResponse> responseList = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            responseList.add(new PersonResponse(i + 1L,
+                    "FirstName" + i,
+                    "LastName" + i,
+                    "City - State - Country",
+                    Gender.MALE,
+                    "email" + i + "@email.com"));
+        }
+        return responseList;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,94 @@
+package io.github.diegorscs.unit.cache;
+
+import io.github.diegorscs.cache.EmailFilter;
+import io.github.diegorscs.config.EmailFilterProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmailFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private EmailFilter emailFilter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        emailFilter = new EmailFilter(new EmailFilterProperties(true, 100, 0.01, Duration.ofHours(1)), meterRegistry);
+    }
+
+    @Test
+    void shouldReturnEveryEmail_whenFilterNotBuiltYet() {
+        assertThat(emailFilter.mightContain(Set.of("a@email.com", "b@email.com")))
+                .containsExactlyInAnyOrder("a@email.com", "b@email.com");
+        assertThat(checks("absent")).isZero();
+    }
+
+    @Test
+    void shouldReturnOnlyKnownEmails_whenRebuilt() {
+        emailFilter.rebuild(1, () -> Stream.of("a@email.com"));
+
+        assertThat(emailFilter.mightContain(Set.of("a@email.com", "b@email.com"))).containsExactly("a@email.com");
+        assertThat(checks("absent")).isEqualTo(1);
+        assertThat(meterRegistry.get("persons.email_filter.elements").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldContainNormalizedEmail_whenPut() {
+        emailFilter.rebuild(0, Stream::empty);
+
+        emailFilter.put("New@Email.com");
+
+        assertThat(emailFilter.mightContain(Set.of("new@email.com"))).containsExactly("new@email.com");
+    }
+
+    @Test
+    void shouldKeepEmailPutWhileRebuilding_whenRebuildFinishes() {
+        emailFilter.rebuild(1, () -> {
+            emailFilter.put("concurrent@email.com");
+            return Stream.of("a@email.com");
+        });
+
+        assertThat(emailFilter.mightContain(Set.of("concurrent@email.com"))).containsExactly("concurrent@email.com");
+    }
+
+    @Test
+    void shouldDiscardRebuild_whenInvalidatedWhileRebuilding() {
+        emailFilter.rebuild(1, () -> {
+            emailFilter.invalidate();
+            return Stream.of("a@email.com");
+        });
+
+        assertThat(emailFilter.mightContain(Set.of("b@email.com"))).containsExactly("b@email.com");
+        assertThat(checks("absent")).isZero();
+    }
+
+    @Test
+    void shouldRecordPresentAndFalsePositives_whenRecordLookup() {
+        emailFilter.rebuild(0, Stream::empty);
+
+        emailFilter.recordLookup(3, 1);
+
+        assertThat(checks("present")).isEqualTo(1);
+        assertThat(checks("false_positive")).isEqualTo(2);
+    }
+
+    @Test
+    void shouldReturnEveryEmail_whenDisabled() {
+        EmailFilter disabled = new EmailFilter(new EmailFilterProperties(false, 100, 0.01, Duration.ofHours(1)),
+                new SimpleMeterRegistry());
+        disabled.rebuild(1, () -> Stream.of("a@email.com"));
+
+        assertThat(disabled.mightContain(Set.of("b@email.com"))).containsExactly("b@email.com");
+    }
+
+    private double checks(String result) {
+        return meterRegistry.get("persons.email_filter.checks").tag("result", result).counter().count();
+    }
+}
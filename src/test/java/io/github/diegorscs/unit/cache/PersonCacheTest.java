@@ -0,0 +1,162 @@
+package io.github.diegorscs.unit.cache;
+
+import io.github.diegorscs.cache.PersonCache;
+import io.github.diegorscs.config.PersonCacheProperties;
+import io.github.diegorscs.datasource.ReadYourWrites;
+import io.github.diegorscs.model.Person;
+import io.github.diegorscs.sample.PersonSample;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class PersonCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PersonCache personCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        personCache = new PersonCache(new PersonCacheProperties(true, 100, Duration.ofMinutes(1)), meterRegistry,
+                Optional.empty());
+    }
+
+    @Test
+    void shouldReturnCachedPerson_whenGetByIdAndByEmail() {
+        Person person = createPerson(1L);
+        personCache.put(person, personCache.stamp());
+
+        assertThat(personCache.getById(1L)).containsSame(person);
+        assertThat(personCache.getByEmail(person.getEmail().toUpperCase())).containsSame(person);
+    }
+
+    @Test
+    void shouldInvalidateBothKeys_whenEvictById() {
+        Person person = createPerson(1L);
+        personCache.put(person, personCache.stamp());
+
+        personCache.evict(1L);
+
+        assertThat(personCache.getById(1L)).isEmpty();
+        assertThat(personCache.getByEmail(person.getEmail())).isEmpty();
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void shouldKeepEntryUntilCommit_whenEvictInsideTransaction() {
+        Person person = createPerson(1L);
+        personCache.put(person, personCache.stamp());
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            personCache.evict(1L);
+
+            assertThat(personCache.getById(1L)).containsSame(person);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(personCache.getById(1L)).isEmpty();
+        assertThat(personCache.getByEmail(person.getEmail())).isEmpty();
+    }
+
+    @Test
+    void shouldNotCachePerson_whenEvictedSinceStamp() {
+        long stamp = personCache.stamp();
+        Person person = createPerson(1L);
+
+        personCache.evict(1L);
+        personCache.put(person, stamp);
+
+        assertThat(personCache.getById(1L)).isEmpty();
+
+        personCache.put(person, personCache.stamp());
+
+        assertThat(personCache.getById(1L)).containsSame(person);
+    }
+
+    @Test
+    void shouldNotCacheRecentlyWrittenPerson_whenReadMayComeFromReplica() {
+        ReadYourWrites readYourWrites = new ReadYourWrites(Duration.ofMinutes(1), Clock.systemUTC());
+        PersonCache replicatedCache = new PersonCache(new PersonCacheProperties(true, 100, Duration.ofMinutes(1)),
+                new SimpleMeterRegistry(), Optional.of(readYourWrites));
+        Person person = createPerson(1L);
+        replicatedCache.evict(1L);
+
+        replicatedCache.put(person, replicatedCache.stamp());
+
+        assertThat(replicatedCache.getById(1L)).isEmpty();
+
+        RequestContextHolder.setRequestAttributes(
+                new ServletRequestAttributes(new MockHttpServletRequest(), new MockHttpServletResponse()));
+        readYourWrites.afterCommit(mock(TransactionExecution.class), null);
+        replicatedCache.put(person, replicatedCache.stamp());
+
+        assertThat(replicatedCache.getById(1L)).containsSame(person);
+    }
+
+    @Test
+    void shouldMissOldEmail_whenPersonEmailChanged() {
+        Person person = createPerson(1L);
+        personCache.put(person, personCache.stamp());
+        Person updatedPerson = createPerson(1L);
+        updatedPerson.setEmail("updated@email.com");
+
+        personCache.put(updatedPerson, personCache.stamp());
+
+        assertThat(personCache.getByEmail(person.getEmail())).isEmpty();
+        assertThat(personCache.getByEmail(updatedPerson.getEmail())).containsSame(updatedPerson);
+    }
+
+    @Test
+    void shouldRecordHitsAndMisses_whenGetById() {
+        personCache.put(createPerson(1L), personCache.stamp());
+
+        personCache.getById(1L);
+        personCache.getById(2L);
+
+        assertThat(meterRegistry.get("cache.gets").tags("cache", "persons.by-id", "result", "hit").functionCounter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tags("cache", "persons.by-id", "result", "miss").functionCounter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void shouldNeverCache_whenDisabled() {
+        PersonCache disabledCache = new PersonCache(
+                new PersonCacheProperties(false, 100, Duration.ofMinutes(1)), new SimpleMeterRegistry(), Optional.empty());
+        Person person = createPerson(1L);
+
+        disabledCache.put(person, disabledCache.stamp());
+
+        assertThat(disabledCache.getById(1L)).isEmpty();
+        assertThat(disabledCache.getByEmail(person.getEmail())).isEmpty();
+    }
+
+    private static Person createPerson(Long id) {
+        Person person = PersonSample.createPerson();
+        person.setId(id);
+        return person;
+    }
+}
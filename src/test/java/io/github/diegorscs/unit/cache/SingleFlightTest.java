@@ -0,0 +1,174 @@
+package io.github.diegorscs.unit.cache;
+
+import io.github.diegorscs.cache.SingleFlight;
+import io.github.diegorscs.config.SingleFlightProperties;
+import io.github.diegorscs.exceptions.ResourceNotFoundException;
+import io.github.diegorscs.exceptions.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    private SimpleMeterRegistry meterRegistry;
+    private SingleFlight singleFlight;
+    private ExecutorService executor;
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicInteger queries = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        singleFlight = new SingleFlight(new SingleFlightProperties(true, Duration.ofSeconds(5)), meterRegistry,
+                Optional.empty());
+        executor = Executors.newFixedThreadPool(CALLERS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldRunOneQueryAndShareResult_whenConcurrentIdenticalLookups() throws Exception {
+        Object result = new Object();
+
+        List<Future<Object>> callers = startCallers(1L, () -> result);
+        awaitCollapsed(CALLERS - 1);
+        release.countDown();
+
+        for (Future<Object> caller : callers) {
+            assertThat(caller.get(5, TimeUnit.SECONDS)).isSameAs(result);
+        }
+        assertThat(queries).hasValue(1);
+        assertThat(lookups("executed")).isEqualTo(1);
+        assertThat(lookups("collapsed")).isEqualTo(CALLERS - 1);
+        assertThat(meterRegistry.get("persons.single_flight.in_flight").gauge().value()).isZero();
+    }
+
+    @Test
+    void shouldPropagateExceptionToEveryCaller_whenQueryFails() throws Exception {
+        List<Future<Object>> callers = startCallers(1L, () -> {
+            throw new ResourceNotFoundException("No records found for this ID!");
+        });
+        awaitCollapsed(CALLERS - 1);
+        release.countDown();
+
+        for (Future<Object> caller : callers) {
+            assertThatThrownBy(() -> caller.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(ResourceNotFoundException.class);
+        }
+        assertThat(queries).hasValue(1);
+    }
+
+    @Test
+    void shouldThrowServiceUnavailable_whenFlightDoesNotFinishInTime() throws Exception {
+        singleFlight = new SingleFlight(new SingleFlightProperties(true, Duration.ofMillis(50)), meterRegistry,
+                Optional.empty());
+        Future<Object> leader = startCallers(1L, Object::new, 1).get(0);
+        awaitQueries(1);
+
+        assertThatThrownBy(() -> singleFlight.execute("id", 1L, Object::new))
+                .isInstanceOf(ServiceUnavailableException.class);
+        assertThat(lookups("timeout")).isEqualTo(1);
+
+        release.countDown();
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isNotNull();
+    }
+
+    @Test
+    void shouldQueryAgain_whenPreviousFlightFinished() {
+        singleFlight.execute("id", 1L, queries::incrementAndGet);
+        singleFlight.execute("id", 1L, queries::incrementAndGet);
+
+        assertThat(queries).hasValue(2);
+        assertThat(lookups("collapsed")).isZero();
+    }
+
+    @Test
+    void shouldNotCollapse_whenKeysOrLookupsDiffer() throws Exception {
+        List<Future<Object>> first = startCallers(1L, Object::new, 1);
+        List<Future<Object>> second = startCallers(2L, Object::new, 1);
+        awaitQueries(2);
+
+        assertThat(singleFlight.execute("email", 1L, () -> "not collapsed")).isEqualTo("not collapsed");
+        release.countDown();
+        assertThat(first.get(0).get(5, TimeUnit.SECONDS)).isNotSameAs(second.get(0).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void shouldRunEveryQuery_whenDisabled() {
+        SingleFlight disabled = new SingleFlight(new SingleFlightProperties(false, Duration.ofSeconds(1)),
+                meterRegistry, Optional.empty());
+
+        disabled.execute("id", 1L, queries::incrementAndGet);
+        disabled.execute("id", 1L, queries::incrementAndGet);
+
+        assertThat(queries).hasValue(2);
+    }
+
+    private List<Future<Object>> startCallers(Long id, Supplier<Object> result) {
+        return startCallers(id, result, CALLERS);
+    }
+
+    private List<Future<Object>> startCallers(Long id, Supplier<Object> result, int count) {
+        List<Future<Object>> callers = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            callers.add(executor.submit(() -> singleFlight.execute("id", id, () -> {
+                queries.incrementAndGet();
+                awaitRelease();
+                return result.get();
+            })));
+        }
+        return callers;
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void awaitCollapsed(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (lookups("collapsed") < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private void awaitQueries(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (queries.get() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private double lookups(String result) {
+        return meterRegistry.find("persons.single_flight.lookups").tag("result", result).counters().stream()
+                .mapToDouble(counter -> counter.count())
+                .sum();
+    }
+}
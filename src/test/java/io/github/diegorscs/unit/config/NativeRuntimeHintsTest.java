@@ -0,0 +1,40 @@
+package io.github.diegorscs.unit.config;
+
+import io.github.diegorscs.config.NativeRuntimeHints;
+import io.github.diegorscs.dto.PersonResponse;
+import io.github.diegorscs.model.Gender;
+import io.github.diegorscs.model.Person;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NativeRuntimeHintsTest {
+
+    private RuntimeHints hints;
+
+    @BeforeEach
+    void setUp() {
+        hints = new RuntimeHints();
+        new NativeRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void shouldRegisterProjectionConstructor_whenRegisteringHints() throws NoSuchMethodException {
+        assertThat(RuntimeHintsPredicates.reflection().onConstructor(PersonResponse.class.getConstructor(
+                Long.class, String.class, String.class, String.class, Gender.class, String.class)).invoke())
+                .accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(Person.class)).accepts(hints);
+    }
+
+    @Test
+    void shouldRegisterMigrationsAndOpenApi_whenRegisteringHints() {
+        assertThat(RuntimeHintsPredicates.resource().forResource("db/migration/V1.0.0__create_table_person.sql"))
+                .accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource().forResource("db/vendor/postgresql/V1.2.0__create_unique_index_person_email.sql"))
+                .accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource().forResource("static/openapi.yaml")).accepts(hints);
+    }
+}
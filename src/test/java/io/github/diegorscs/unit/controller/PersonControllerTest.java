@@ -2,30 +2,57 @@ package io.github.diegorscs.unit.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.github.diegorscs.dto.GenderResponse;
+import io.github.diegorscs.dto.PersonImportRejection;
+import io.github.diegorscs.dto.PersonImportResponse;
+import io.github.diegorscs.dto.PersonLookupRequest;
+import io.github.diegorscs.dto.PersonLookupResponse;
+import io.github.diegorscs.dto.PersonPageResponse;
+import io.github.diegorscs.dto.PersonResponse;
+import io.github.diegorscs.dto.PersonSearchHit;
+import io.github.diegorscs.dto.PersonSearchResponse;
+import io.github.diegorscs.dto.PersonStatsResponse;
+import io.github.diegorscs.exceptions.NotImplementedException;
+import io.github.diegorscs.exceptions.PreconditionFailedException;
 import io.github.diegorscs.exceptions.ResourceAlreadyExistsException;
+import io.github.diegorscs.mapper.CursorMapper;
+import io.github.diegorscs.mapper.PersonMapper;
 import io.github.diegorscs.exceptions.ResourceNotFoundException;
+import io.github.diegorscs.model.BatchItem;
 import io.github.diegorscs.model.Gender;
+import io.github.diegorscs.model.ImportRejectionReason;
 import io.github.diegorscs.model.Person;
 import io.github.diegorscs.sample.PersonSample;
 import io.github.diegorscs.service.PersonService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.core.Is.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.BDDMockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest
@@ -79,8 +106,73 @@ public class PersonControllerTest {
     }
 
     @Test
-    void shouldReturnPersonsList_whenFindAllPersons() throws Exception {
+    void shouldReturnItemResults_whenCreateAll() throws Exception {
         List<Person> personList = PersonSample.createPersonList();
+        given(personService.createAll(anyList())).willReturn(List.of(
+                BatchItem.created(personList.get(0)),
+                BatchItem.conflict(personList.get(1), "Person already exist with given e-Mail: " + personList.get(1).getEmail())
+        ));
+
+        ResultActions response = mockMvc.perform(
+                post("/api/v1/persons/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(personList.subList(0, 2)))
+        );
+
+        response
+                .andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.size()", is(2)))
+                .andExpect(jsonPath("$[0].index", is(0)))
+                .andExpect(jsonPath("$[0].status", is("CREATED")))
+                .andExpect(jsonPath("$[0].person.email", is(personList.get(0).getEmail())))
+                .andExpect(jsonPath("$[1].index", is(1)))
+                .andExpect(jsonPath("$[1].status", is("CONFLICT")))
+                .andExpect(jsonPath("$[1].person").doesNotExist());
+    }
+
+    @Test
+    void shouldReturnImportReport_whenImportCsv() throws Exception {
+        given(personService.importCsv(any(InputStream.class))).willReturn(new PersonImportResponse(3L, 2L, 1L,
+                List.of(new PersonImportRejection(2L, "email@email.com", ImportRejectionReason.DUPLICATE_EMAIL))));
+
+        ResultActions response = mockMvc.perform(
+                post("/api/v1/persons/import")
+                        .contentType("text/csv")
+                        .content("""
+                                firstName,lastName,address,gender,email
+                                John,Doe,City,MALE,email@email.com
+                                John,Doe,City,MALE,email@email.com
+                                Jane,Doe,City,FEMALE,jane@email.com
+                                """)
+        );
+
+        response
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received", is(3)))
+                .andExpect(jsonPath("$.imported", is(2)))
+                .andExpect(jsonPath("$.rejected", is(1)))
+                .andExpect(jsonPath("$.rejections[0].row", is(2)))
+                .andExpect(jsonPath("$.rejections[0].reason", is("DUPLICATE_EMAIL")));
+    }
+
+    @Test
+    void shouldReturnNotImplemented_whenImportCsvIsNotSupported() throws Exception {
+        given(personService.importCsv(any(InputStream.class)))
+                .willThrow(new NotImplementedException("CSV import requires PostgreSQL"));
+
+        ResultActions response = mockMvc.perform(post("/api/v1/persons/import")
+                .contentType("text/csv")
+                .content("firstName,lastName,address,gender,email\n"));
+
+        response
+                .andExpect(status().isNotImplemented())
+                .andExpect(jsonPath("$.message", is("CSV import requires PostgreSQL")));
+    }
+
+    @Test
+    void shouldReturnPersonsList_whenFindAllPersons() throws Exception {
+        List<PersonResponse> personList = PersonSample.createPersonResponseList();
         given(personService.findAll()).willReturn(personList);
 
         ResultActions response = mockMvc.perform(get("/api/v1/persons"));
@@ -91,6 +183,160 @@ public class PersonControllerTest {
                 .andExpect(jsonPath("$.size()", is(personList.size())));
     }
 
+    @Test
+    void shouldReturnPersonsInRequestOrderAndMissingIds_whenFindByIds() throws Exception {
+        List<PersonResponse> personList = PersonSample.createPersonResponseList();
+        personList.get(0).setId(3L);
+        personList.get(1).setId(1L);
+        given(personService.findByIds(List.of(3L, 1L, 9L)))
+                .willReturn(new PersonLookupResponse(personList.subList(0, 2), List.of(9L)));
+
+        ResultActions response = mockMvc.perform(get("/api/v1/persons").param("ids", "3,1,9"));
+
+        response
+                .andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$.content[0].id", is(3)))
+                .andExpect(jsonPath("$.content[1].id", is(1)))
+                .andExpect(jsonPath("$.missing[0]", is(9)));
+    }
+
+    @Test
+    void shouldReturnLookupResult_whenLookup() throws Exception {
+        List<PersonResponse> personList = PersonSample.createPersonResponseList();
+        personList.get(0).setId(1L);
+        given(personService.findByIds(List.of(1L, 2L)))
+                .willReturn(new PersonLookupResponse(personList.subList(0, 1), List.of(2L)));
+
+        ResultActions response = mockMvc.perform(post("/api/v1/persons/lookup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new PersonLookupRequest(List.of(1L, 2L)))));
+
+        response
+                .andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.content.size()", is(1)))
+                .andExpect(jsonPath("$.missing[0]", is(2)));
+    }
+
+    @Test
+    void shouldReturnBadRequest_whenLookupIsEmptyOrTooLarge() throws Exception {
+        mockMvc.perform(post("/api/v1/persons/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("Ids must be a non-empty list of numbers")));
+
+        List<Long> ids = LongStream.rangeClosed(1, 1_001).boxed().toList();
+        mockMvc.perform(post("/api/v1/persons/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new PersonLookupRequest(ids))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("Lookup size must not exceed 1000")));
+
+        mockMvc.perform(get("/api/v1/persons").param("ids", "1,abc"))
+                .andExpect(status().isBadRequest());
+        verify(personService, never()).findByIds(anyList());
+    }
+
+    @Test
+    void shouldReturnPageWithNextCursor_whenFindPage() throws Exception {
+        List<PersonResponse> personList = PersonSample.createPersonResponseList();
+        for (int i = 0; i < personList.size(); i++) {
+            personList.get(i).setId(i + 11L);
+        }
+        given(personService.findPage(10L, 3)).willReturn(new PersonPageResponse(personList, CursorMapper.encode(13L)));
+
+        ResultActions response = mockMvc.perform(get("/api/v1/persons/page")
+                .param("limit", "3")
+                .param("after", CursorMapper.encode(10L)));
+
+        response
+                .andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.content.size()", is(personList.size())))
+                .andExpect(jsonPath("$.nextCursor", is(CursorMapper.encode(13L))));
+    }
+
+    @Test
+    void shouldReturnLastPageWithoutCursor_whenFindPage() throws Exception {
+        List<PersonResponse> personList = PersonSample.createPersonResponseList();
+        given(personService.findPage(0L, 50)).willReturn(new PersonPageResponse(personList, null));
+
+        ResultActions response = mockMvc.perform(get("/api/v1/persons/page"));
+
+        response
+                .andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.content.size()", is(personList.size())))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void shouldReturnBadRequest_whenFindPageWithInvalidCursor() throws Exception {
+        ResultActions response = mockMvc.perform(get("/api/v1/persons/page")
+                .param("after", "invalid-cursor"));
+
+        response
+                .andExpect(status().isBadRequest())
+                .andDo(print());
+    }
+
+    @Test
+    void shouldReturnBadRequest_whenFindPageWithInvalidLimit() throws Exception {
+        ResultActions response = mockMvc.perform(get("/api/v1/persons/page")
+                .param("limit", "0"));
+
+        response
+                .andExpect(status().isBadRequest())
+                .andDo(print());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldStreamOnePersonPerLine_whenExport() throws Exception {
+        List<PersonResponse> personList = PersonSample.createPersonResponseList();
+        willAnswer(invocation -> {
+            personList.forEach(invocation.<Consumer<PersonResponse>>getArgument(0));
+            return null;
+        }).given(personService).exportAll(any(Consumer.class));
+
+        ResultActions response = mockMvc.perform(get("/api/v1/persons/export"))
+                .andExpect(request().asyncStarted());
+
+        String body = mockMvc.perform(asyncDispatch(response.andReturn()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertThat(body.lines().toList())
+                .hasSize(personList.size())
+                .allSatisfy(line -> assertThat(line).startsWith("{").endsWith("}"));
+        assertThat(body).endsWith("\n");
+    }
+
+    @Test
+    void shouldStreamCsvAttachment_whenExportCsv() throws Exception {
+        String csv = "id,firstName,lastName,address,gender,email\n1,John,Doe,City,MALE,john@email.com\n";
+        willAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(0).write(csv.getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        }).given(personService).exportCsv(any(OutputStream.class));
+
+        ResultActions response = mockMvc.perform(get("/api/v1/persons/export.csv"))
+                .andExpect(request().asyncStarted());
+
+        mockMvc.perform(asyncDispatch(response.andReturn()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"persons.csv\""))
+                .andExpect(content().string(csv));
+        verify(personService, never()).findById(anyLong());
+    }
+
     @Test
     void shouldReturnAPerson_whenFindById() throws Exception {
         Long personId = 1L;
@@ -109,6 +355,52 @@ public class PersonControllerTest {
                 .andExpect(jsonPath("$.email", is(person.getEmail())));
     }
 
+    @Test
+    void shouldReturnNotModifiedWithoutLoadingPerson_whenFindByIdWithMatchingETag() throws Exception {
+        Long personId = 1L;
+        given(personService.findVersionById(personId)).willReturn(3L);
+
+        ResultActions response = mockMvc.perform(get("/api/v1/persons/{id}", personId)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"3\""));
+
+        response
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(content().string(""));
+        verify(personService, never()).findById(anyLong());
+    }
+
+    @Test
+    void shouldReturnPersonWithETag_whenFindByIdWithStaleETag() throws Exception {
+        Long personId = 1L;
+        Person person = PersonSample.createPerson();
+        person.setVersion(4L);
+        given(personService.findVersionById(personId)).willReturn(4L);
+        given(personService.findById(personId)).willReturn(person);
+
+        ResultActions response = mockMvc.perform(get("/api/v1/persons/{id}", personId)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"3\""));
+
+        response
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""))
+                .andExpect(jsonPath("$.email", is(person.getEmail())));
+    }
+
+    @Test
+    void shouldReturnNotModified_whenFindAllWithMatchingETag() throws Exception {
+        given(personService.findAll()).willReturn(PersonSample.createPersonResponseList());
+        String etag = mockMvc.perform(get("/api/v1/persons"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        ResultActions response = mockMvc.perform(get("/api/v1/persons").header(HttpHeaders.IF_NONE_MATCH, etag));
+
+        response
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
     @Test
     void shouldReturnNotFound_whenFindById() throws Exception {
         Long personId = 1L;
@@ -124,7 +416,7 @@ public class PersonControllerTest {
     @Test
     void shouldReturnAUpdatedPerson_whenUpdatePerson() throws Exception {
         Long personId = 1L;
-        given(personService.update(anyLong(), any(Person.class)))
+        given(personService.update(anyLong(), any(Person.class), isNull()))
                 .willAnswer(invocation -> invocation.getArgument(1));
 
         Person updatedPerson = new Person("FirstName Updated",
@@ -148,10 +440,61 @@ public class PersonControllerTest {
                 .andExpect(jsonPath("$.email", is(updatedPerson.getEmail())));
     }
 
+    @Test
+    void shouldPassIfMatchVersion_whenUpdatePerson() throws Exception {
+        Person person = PersonSample.createPerson();
+        given(personService.update(anyLong(), any(Person.class), eq(2L)))
+                .willAnswer(invocation -> {
+                    Person updated = invocation.getArgument(1);
+                    updated.setVersion(3L);
+                    return updated;
+                });
+
+        ResultActions response = mockMvc.perform(put("/api/v1/persons/{id}", 1L)
+                .header(HttpHeaders.IF_MATCH, "\"2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(person))
+        );
+
+        response
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""));
+    }
+
+    @Test
+    void shouldReturnPreconditionFailed_whenUpdatePersonWithStaleIfMatch() throws Exception {
+        Person person = PersonSample.createPerson();
+        doThrow(PreconditionFailedException.class).when(personService).update(anyLong(), any(Person.class), eq(1L));
+
+        ResultActions response = mockMvc.perform(put("/api/v1/persons/{id}", 1L)
+                .header(HttpHeaders.IF_MATCH, "\"1\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(person))
+        );
+
+        response
+                .andExpect(status().isPreconditionFailed())
+                .andDo(print());
+    }
+
+    @Test
+    void shouldReturnPreconditionFailed_whenUpdatePersonWithInvalidIfMatch() throws Exception {
+        Person person = PersonSample.createPerson();
+
+        ResultActions response = mockMvc.perform(put("/api/v1/persons/{id}", 1L)
+                .header(HttpHeaders.IF_MATCH, "W/\"1\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(person))
+        );
+
+        response.andExpect(status().isPreconditionFailed());
+        verifyNoInteractions(personService);
+    }
+
     @Test
     void shouldReturnNotFound_whenUpdatePerson() throws Exception {
         Long personId = 1L;
-        doThrow(ResourceNotFoundException.class).when(personService).update(anyLong(), any(Person.class));
+        doThrow(ResourceNotFoundException.class).when(personService).update(anyLong(), any(Person.class), isNull());
 
         Person updatedPerson = new Person("FirstName Updated",
                 "LastName Updated",
@@ -230,8 +573,8 @@ public class PersonControllerTest {
     @Test
     void shouldReturnListPerson_whenFindByLikeName() throws Exception {
         String termSearch = "FirstName";
-        List<Person> personList = PersonSample.createPersonList();
-        given(personService.findByLikeName(termSearch)).willReturn(personList);
+        List<PersonResponse> personList = PersonSample.createPersonList().stream().map(PersonMapper::toResponse).toList();
+        given(personService.findByLikeName(termSearch, 50)).willReturn(personList);
 
         ResultActions response = mockMvc.perform(get("/api/v1/persons/like-name")
                 .param("term", termSearch));
@@ -242,6 +585,17 @@ public class PersonControllerTest {
                 .andExpect(jsonPath("$.size()", is(personList.size())));
     }
 
+    @Test
+    void shouldReturnBadRequest_whenFindByLikeNameWithInvalidLimit() throws Exception {
+        ResultActions response = mockMvc.perform(get("/api/v1/persons/like-name")
+                .param("term", "FirstName")
+                .param("limit", "501"));
+
+        response
+                .andExpect(status().isBadRequest())
+                .andDo(print());
+    }
+
     @Test
     void shouldReturnListGender_whenListGender() throws Exception {
         List<GenderResponse> genderResponseList = Arrays.stream(Gender.values()).map(gender ->
@@ -254,4 +608,48 @@ public class PersonControllerTest {
                 .andDo(print())
                 .andExpect(jsonPath("$.size()", is(genderResponseList.size())));
     }
+
+    @Test
+    void shouldReturnCountsPerGender_whenGetStats() throws Exception {
+        given(personService.getStats()).willReturn(new PersonStatsResponse(3L,
+                Map.of(Gender.MALE, 2L, Gender.FEMALE, 1L)));
+
+        ResultActions response = mockMvc.perform(get("/api/v1/persons/stats"));
+
+        response
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total", is(3)))
+                .andExpect(jsonPath("$.byGender.MALE", is(2)))
+                .andExpect(jsonPath("$.byGender.FEMALE", is(1)));
+    }
+
+    @Test
+    void shouldPassTokenizedTerms_whenSearch() throws Exception {
+        PersonSearchHit hit = new PersonSearchHit(1L, "John", "Doe", "Avenida Paulista, 1000", Gender.MALE,
+                "john@email.com", 0.6, "John Doe, Avenida <mark>Paulista</mark>, 1000");
+        given(personService.search(List.of("av", "paulista"), 1, 10, true))
+                .willReturn(new PersonSearchResponse(List.of(hit), 2));
+
+        ResultActions response = mockMvc.perform(get("/api/v1/persons/search")
+                .param("q", "Av. Paulista")
+                .param("page", "1")
+                .param("limit", "10")
+                .param("highlight", "true"));
+
+        response
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id", is(1)))
+                .andExpect(jsonPath("$.content[0].highlight", is(hit.getHighlight())))
+                .andExpect(jsonPath("$.nextPage", is(2)));
+    }
+
+    @Test
+    void shouldReturnBadRequest_whenSearchQueryHasNoWords() throws Exception {
+        ResultActions response = mockMvc.perform(get("/api/v1/persons/search").param("q", " ,;- "));
+
+        response
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("Query must contain at least one letter or digit")));
+        verify(personService, never()).search(anyList(), anyInt(), anyInt(), anyBoolean());
+    }
 }
@@ -0,0 +1,267 @@
+package io.github.diegorscs.unit.controller;
+
+import io.github.diegorscs.controller.ReactivePersonController;
+import io.github.diegorscs.dto.PersonLookupRequest;
+import io.github.diegorscs.dto.PersonLookupResponse;
+import io.github.diegorscs.dto.PersonPageResponse;
+import io.github.diegorscs.dto.PersonResponse;
+import io.github.diegorscs.dto.PersonStatsResponse;
+import io.github.diegorscs.exceptions.PreconditionFailedException;
+import io.github.diegorscs.exceptions.ResourceNotFoundException;
+import io.github.diegorscs.exceptions.handler.ReactiveExceptionHandler;
+import io.github.diegorscs.mapper.CursorMapper;
+import io.github.diegorscs.model.Gender;
+import io.github.diegorscs.model.Person;
+import io.github.diegorscs.sample.PersonSample;
+import io.github.diegorscs.service.ReactivePersonService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ActiveProfiles("reactive")
+@WebFluxTest(ReactivePersonController.class)
+@Import(ReactiveExceptionHandler.class)
+class ReactivePersonControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockitoBean
+    private ReactivePersonService personService;
+
+    @Test
+    void shouldStreamPeople_whenFindAll() {
+        List<PersonResponse> people = PersonSample.createPersonResponseList();
+        given(personService.findAll()).willReturn(Flux.fromIterable(people));
+
+        webTestClient.get().uri("/api/v1/persons")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(PersonResponse.class).isEqualTo(people);
+    }
+
+    @Test
+    void shouldReturnNextCursor_whenPageIsFull() {
+        List<PersonResponse> people = PersonSample.createPersonResponseList();
+        given(personService.findPage(0L, 3)).willReturn(Mono.just(new PersonPageResponse(people, CursorMapper.encode(3L))));
+
+        webTestClient.get().uri("/api/v1/persons/page?limit=3")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content.length()").isEqualTo(3)
+                .jsonPath("$.nextCursor").isNotEmpty();
+    }
+
+    @Test
+    void shouldReturnBadRequest_whenLimitIsOutOfRange() {
+        webTestClient.get().uri("/api/v1/persons/like-name?term=Jo&limit=0")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Limit must be between 1 and 500")
+                .jsonPath("$.details").isEqualTo("uri=/api/v1/persons/like-name");
+    }
+
+    @Test
+    void shouldReturnBadRequest_whenRequiredParameterIsMissing() {
+        webTestClient.get().uri("/api/v1/persons/email")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void shouldReturnBadRequest_whenIdIsNotANumber() {
+        webTestClient.get().uri("/api/v1/persons/abc")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        webTestClient.get().uri("/api/v1/persons?ids=abc")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void shouldReturnBadRequest_whenBodyIsMalformedJson() {
+        webTestClient.post().uri("/api/v1/persons")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"firstName\": ")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void shouldReturnPersonWithETag_whenFindById() {
+        Person person = PersonSample.createPerson();
+        person.setId(1L);
+        person.setVersion(2L);
+        given(personService.findById(1L)).willReturn(Mono.just(person));
+
+        webTestClient.get().uri("/api/v1/persons/1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"2\"")
+                .expectBody()
+                .jsonPath("$.email").isEqualTo(person.getEmail());
+    }
+
+    @Test
+    void shouldReturnNotModified_whenIfNoneMatchesCurrentVersion() {
+        given(personService.findVersionById(1L)).willReturn(Mono.just(2L));
+        given(personService.findById(1L)).willReturn(Mono.never());
+
+        webTestClient.get().uri("/api/v1/persons/1")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"2\"")
+                .exchange()
+                .expectStatus().isNotModified();
+    }
+
+    @Test
+    void shouldReturnNotFound_whenFindByIdIsMissing() {
+        given(personService.findById(anyLong())).willReturn(Mono.error(new ResourceNotFoundException("No records found for this ID!")));
+
+        webTestClient.get().uri("/api/v1/persons/1")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("No records found for this ID!");
+    }
+
+    @Test
+    void shouldReturnCreated_whenCreatePerson() {
+        given(personService.create(any(Person.class))).willAnswer(invocation -> {
+            Person person = invocation.getArgument(0);
+            person.setId(1L);
+            person.setVersion(0L);
+            return Mono.just(person);
+        });
+
+        webTestClient.post().uri("/api/v1/persons")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(PersonSample.createPersonRequest())
+                .exchange()
+                .expectStatus().isCreated()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"0\"")
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(1);
+    }
+
+    @Test
+    void shouldReturnPreconditionFailed_whenUpdateWithStaleIfMatch() {
+        given(personService.update(anyLong(), any(Person.class), any()))
+                .willReturn(Mono.error(new PreconditionFailedException("Person has been modified since the given version!")));
+
+        webTestClient.put().uri("/api/v1/persons/1")
+                .header(HttpHeaders.IF_MATCH, "\"1\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(PersonSample.createPersonRequest())
+                .exchange()
+                .expectStatus().isEqualTo(412);
+    }
+
+    @Test
+    void shouldReturnNoContent_whenDeletePerson() {
+        given(personService.delete(1L)).willReturn(Mono.empty());
+
+        webTestClient.delete().uri("/api/v1/persons/1")
+                .exchange()
+                .expectStatus().isNoContent();
+        verify(personService, never()).findById(1L);
+    }
+
+    @Test
+    void shouldReturnCountsPerGender_whenGetStats() {
+        given(personService.getStats()).willReturn(Mono.just(new PersonStatsResponse(3L,
+                Map.of(Gender.MALE, 2L, Gender.FEMALE, 1L))));
+
+        webTestClient.get().uri("/api/v1/persons/stats")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.total").isEqualTo(3)
+                .jsonPath("$.byGender.MALE").isEqualTo(2)
+                .jsonPath("$.byGender.FEMALE").isEqualTo(1);
+    }
+
+    @Test
+    void shouldReturnPeopleAndMissingIds_whenFindByIds() {
+        List<PersonResponse> people = PersonSample.createPersonResponseList();
+        given(personService.findByIds(List.of(3L, 1L, 9L)))
+                .willReturn(Mono.just(new PersonLookupResponse(List.of(people.get(2), people.get(0)), List.of(9L))));
+
+        webTestClient.get().uri("/api/v1/persons?ids=3,1,9")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists(HttpHeaders.ETAG)
+                .expectBody()
+                .jsonPath("$.content[0].id").isEqualTo(3)
+                .jsonPath("$.content[1].id").isEqualTo(1)
+                .jsonPath("$.missing[0]").isEqualTo(9);
+        verify(personService, never()).findAll();
+    }
+
+    @Test
+    void shouldReturnBadRequest_whenLookupExceedsMaxSize() {
+        List<Long> ids = LongStream.rangeClosed(1, 1_001).boxed().toList();
+
+        webTestClient.post().uri("/api/v1/persons/lookup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new PersonLookupRequest(ids))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Lookup size must not exceed 1000");
+        verify(personService, never()).findByIds(anyList());
+    }
+
+    @Test
+    void shouldReturnBadRequest_whenSearchQueryHasNoTerms() {
+        webTestClient.get().uri("/api/v1/persons/search?q=--")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Query must contain at least one letter or digit");
+    }
+
+    @Test
+    void shouldStreamCsv_whenExportCsv() {
+        given(personService.exportCsv()).willReturn(Flux.just("id,firstName\n", "1,Ada\n"));
+
+        webTestClient.get().uri("/api/v1/persons/export.csv")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.parseMediaType("text/csv"))
+                .expectHeader().valueEquals(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"persons.csv\"")
+                .expectBody(String.class).isEqualTo("id,firstName\n1,Ada\n");
+    }
+
+    @Test
+    void shouldReturnNotImplemented_whenImportCsv() {
+        webTestClient.post().uri("/api/v1/persons/import")
+                .contentType(MediaType.parseMediaType("text/csv"))
+                .bodyValue("firstName,lastName,address,gender,email\n")
+                .exchange()
+                .expectStatus().isEqualTo(501)
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("CSV import is not available with the reactive profile");
+    }
+}
@@ -0,0 +1,133 @@
+package io.github.diegorscs.unit.datasource;
+
+import io.github.diegorscs.datasource.ReadYourWrites;
+import io.github.diegorscs.datasource.ReplicaRoutingDataSource;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+class ReplicaRoutingDataSourceTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-01-01T00:00:00Z"), ZoneOffset.UTC);
+
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection firstReplicaConnection = mock(Connection.class);
+    private final Connection secondReplicaConnection = mock(Connection.class);
+    private final ReadYourWrites readYourWrites = new ReadYourWrites(Duration.ofSeconds(7), CLOCK);
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-1", dataSource(firstReplicaConnection));
+        replicas.put("replica-2", dataSource(secondReplicaConnection));
+        routingDataSource = new ReplicaRoutingDataSource(dataSource(primaryConnection), replicas, readYourWrites);
+        routingDataSource.afterPropertiesSet();
+        routingDataSource.getReplicas().forEach(replica -> replica.update(Duration.ZERO, true));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void shouldAlternateReplicas_whenAllInRotation() throws SQLException {
+        assertThat(routingDataSource.getConnection()).isSameAs(firstReplicaConnection);
+        assertThat(routingDataSource.getConnection()).isSameAs(secondReplicaConnection);
+        assertThat(routingDataSource.getConnection()).isSameAs(firstReplicaConnection);
+    }
+
+    @Test
+    void shouldSkipReplica_whenOutOfRotation() throws SQLException {
+        routingDataSource.getReplicas().get(0).update(Duration.ofMinutes(1), false);
+
+        assertThat(routingDataSource.getConnection()).isSameAs(secondReplicaConnection);
+        assertThat(routingDataSource.getConnection()).isSameAs(secondReplicaConnection);
+    }
+
+    @Test
+    void shouldUsePrimary_whenNoReplicaInRotation() throws SQLException {
+        routingDataSource.getReplicas().forEach(replica -> replica.update(null, false));
+
+        assertThat(routingDataSource.getConnection()).isSameAs(primaryConnection);
+    }
+
+    @Test
+    void shouldUsePrimaryAndSetCookie_whenRequestCommittedAWrite() throws SQLException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest(), response));
+
+        readYourWrites.afterCommit(transaction(false), null);
+
+        assertThat(routingDataSource.getConnection()).isSameAs(primaryConnection);
+        Cookie cookie = response.getCookie(ReadYourWrites.COOKIE);
+        assertThat(cookie).isNotNull();
+        assertThat(cookie.getValue()).isEqualTo(String.valueOf(CLOCK.millis() + 7_000));
+    }
+
+    @Test
+    void shouldNotPin_whenReadOnlyTransactionCommitted() throws SQLException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest(), response));
+
+        readYourWrites.afterCommit(transaction(true), null);
+
+        assertThat(routingDataSource.getConnection()).isSameAs(firstReplicaConnection);
+        assertThat(response.getCookie(ReadYourWrites.COOKIE)).isNull();
+    }
+
+    @Test
+    void shouldUsePrimary_whenCookieStillValid() throws SQLException {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(new Cookie(ReadYourWrites.COOKIE, String.valueOf(CLOCK.millis() + 1)));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        assertThat(routingDataSource.getConnection()).isSameAs(primaryConnection);
+    }
+
+    @Test
+    void shouldUseReplica_whenCookieExpiredOrInvalid() throws SQLException {
+        MockHttpServletRequest expired = new MockHttpServletRequest();
+        expired.setCookies(new Cookie(ReadYourWrites.COOKIE, String.valueOf(CLOCK.millis())));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(expired));
+        assertThat(routingDataSource.getConnection()).isSameAs(firstReplicaConnection);
+
+        MockHttpServletRequest invalid = new MockHttpServletRequest();
+        invalid.setCookies(new Cookie(ReadYourWrites.COOKIE, "soon"));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(invalid));
+        assertThat(routingDataSource.getConnection()).isSameAs(secondReplicaConnection);
+    }
+
+    private static DataSource dataSource(Connection connection) throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+        given(dataSource.getConnection()).willReturn(connection);
+        return dataSource;
+    }
+
+    private static TransactionExecution transaction(boolean readOnly) {
+        TransactionExecution transaction = mock(TransactionExecution.class);
+        given(transaction.isReadOnly()).willReturn(readOnly);
+        return transaction;
+    }
+}
@@ -0,0 +1,79 @@
+package io.github.diegorscs.unit.logging;
+
+import io.github.diegorscs.config.RequestLoggingProperties;
+import io.github.diegorscs.logging.RequestLoggingFilter;
+import io.github.diegorscs.metrics.SqlStatementMetricsFilter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.slf4j.MDC;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(OutputCaptureExtension.class)
+class RequestLoggingFilterTest {
+
+    @Test
+    void shouldPropagateCorrelationId_whenHeaderIsPresent() throws Exception {
+        RequestLoggingFilter filter = new RequestLoggingFilter(new RequestLoggingProperties(true, 1.0, Duration.ofSeconds(1)));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/persons/1");
+        request.addHeader(RequestLoggingFilter.CORRELATION_ID_HEADER, "abc-123");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<String> correlationIdInChain = new AtomicReference<>();
+
+        filter.doFilter(request, response, (req, res) -> correlationIdInChain.set(MDC.get(RequestLoggingFilter.CORRELATION_ID_KEY)));
+
+        assertThat(correlationIdInChain.get()).isEqualTo("abc-123");
+        assertThat(response.getHeader(RequestLoggingFilter.CORRELATION_ID_HEADER)).isEqualTo("abc-123");
+        assertThat(MDC.get(RequestLoggingFilter.CORRELATION_ID_KEY)).isNull();
+    }
+
+    @Test
+    void shouldGenerateCorrelationId_whenHeaderIsInvalid() throws Exception {
+        RequestLoggingFilter filter = new RequestLoggingFilter(new RequestLoggingProperties(true, 1.0, Duration.ofSeconds(1)));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/persons/1");
+        request.addHeader(RequestLoggingFilter.CORRELATION_ID_HEADER, "bad id\n");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> {
+        });
+
+        assertThat(response.getHeader(RequestLoggingFilter.CORRELATION_ID_HEADER))
+                .isNotEqualTo("bad id\n")
+                .hasSize(36);
+    }
+
+    @Test
+    void shouldLogStatusAndSqlStatements_whenRequestCompletes(CapturedOutput output) throws Exception {
+        RequestLoggingFilter filter = new RequestLoggingFilter(new RequestLoggingProperties(true, 1.0, Duration.ofSeconds(1)));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/persons/1");
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/v1/persons/{id}");
+            req.setAttribute(SqlStatementMetricsFilter.SQL_STATEMENTS_ATTRIBUTE, 2);
+        });
+
+        assertThat(output).contains(RequestLoggingFilter.LOGGER_NAME, "GET /api/v1/persons/1 200");
+    }
+
+    @Test
+    void shouldSkipFastSuccessfulRequests_whenSampleRateIsZero(CapturedOutput output) throws Exception {
+        RequestLoggingFilter filter = new RequestLoggingFilter(new RequestLoggingProperties(true, 0.0, Duration.ofSeconds(1)));
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/persons/1"), new MockHttpServletResponse(), (req, res) -> {
+        });
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/persons/2"), new MockHttpServletResponse(),
+                (req, res) -> ((MockHttpServletResponse) res).setStatus(500));
+
+        assertThat(output)
+                .doesNotContain("GET /api/v1/persons/1 ")
+                .contains("GET /api/v1/persons/2 500");
+    }
+}
@@ -0,0 +1,53 @@
+package io.github.diegorscs.unit.metrics;
+
+import io.github.diegorscs.metrics.SqlStatementCounter;
+import io.github.diegorscs.metrics.SqlStatementMetricsFilter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlStatementMetricsFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private SqlStatementCounter sqlStatementCounter;
+    private SqlStatementMetricsFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        sqlStatementCounter = new SqlStatementCounter();
+        filter = new SqlStatementMetricsFilter(sqlStatementCounter, meterRegistry);
+    }
+
+    @Test
+    void shouldRecordStatementsPerUriTemplate_whenRequestRunsQueries() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/persons/1");
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/v1/persons/{id}");
+            sqlStatementCounter.inspect("select 1");
+            sqlStatementCounter.inspect("select 2");
+        });
+
+        DistributionSummary summary = meterRegistry.get(SqlStatementMetricsFilter.METRIC_NAME)
+                .tag("method", "GET")
+                .tag("uri", "/api/v1/persons/{id}")
+                .tag("status", "200")
+                .summary();
+        assertThat(summary.count()).isEqualTo(1);
+        assertThat(summary.totalAmount()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldNotCountStatements_whenOutsideRequest() {
+        sqlStatementCounter.inspect("select 1");
+
+        assertThat(sqlStatementCounter.stop()).isZero();
+    }
+}
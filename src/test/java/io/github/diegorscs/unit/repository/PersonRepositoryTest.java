@@ -1,22 +1,40 @@
 package io.github.diegorscs.unit.repository;
 
+import io.github.diegorscs.dto.PersonResponse;
+import io.github.diegorscs.dto.PersonSearchHit;
+import io.github.diegorscs.exceptions.NotImplementedException;
+import io.github.diegorscs.mapper.PersonMapper;
 import io.github.diegorscs.model.Gender;
+import io.github.diegorscs.model.GenderCount;
 import io.github.diegorscs.model.Person;
 import io.github.diegorscs.repository.PersonRepository;
+import io.github.diegorscs.repository.impl.DatabaseVendor;
 import io.github.diegorscs.sample.PersonSample;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
-
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.AssertionsForClassTypes.tuple;
 
 @DataJpaTest
+@Import(DatabaseVendor.class)
 class PersonRepositoryTest {
 
     @Autowired
@@ -80,6 +98,15 @@ class PersonRepositoryTest {
                 .contains(personToBeSaved );
     }
 
+    @Test
+    void shouldReturnVersion_whenFindVersionById() {
+        Person savedPerson = personRepository.saveAndFlush(PersonSample.createPerson());
+
+        Optional<Long> version = personRepository.findVersionById(savedPerson.getId());
+
+        assertThat(version).contains(savedPerson.getVersion());
+    }
+
     @Test
     void shouldReturnEmptyOptional_whenFindByIdNotExists() {
         Optional<Person> personById = personRepository.findById(1L);
@@ -100,6 +127,36 @@ class PersonRepositoryTest {
         );
     }
 
+    @Test
+    void shouldIgnoreCase_whenFindByEmail() {
+        Person personToBeSaved = PersonSample.createPerson();
+        personRepository.save(personToBeSaved);
+
+        Optional<Person> personByEmail = personRepository.findByEmail(personToBeSaved.getEmail().toUpperCase());
+
+        assertThat(personByEmail).isPresent();
+    }
+
+    @Test
+    void shouldRejectDuplicatedEmailIgnoringCase_whenSave() {
+        personRepository.saveAndFlush(PersonSample.createPerson());
+        Person duplicated = PersonSample.createPerson();
+        duplicated.setEmail(duplicated.getEmail().toUpperCase());
+
+        assertThatThrownBy(() -> personRepository.saveAndFlush(duplicated))
+                .isInstanceOf(DataIntegrityViolationException.class)
+                .hasMessageContaining("UX_PERSON_EMAIL");
+    }
+
+    @Test
+    void shouldReturnNormalizedExistingEmails_whenFindExistingEmails() {
+        personRepository.save(PersonSample.createPerson());
+
+        Set<String> existingEmails = personRepository.findExistingEmails(List.of("email@email.com", "other@email.com"));
+
+        assertThat(existingEmails).containsExactly("email@email.com");
+    }
+
     @Test
     void shouldUpdateAPerson_whenUpdate() {
         Person personToBeSaved  = PersonSample.createPerson();
@@ -139,26 +196,169 @@ class PersonRepositoryTest {
         Person savedPerson = personRepository.save(personToBeSaved);
         String searchTerm = "FirstName L";
 
-        List<Person> personByLikeName = personRepository.findByLikeName(searchTerm);
+        List<PersonResponse> personByLikeName = personRepository.searchByName(searchTerm, 10);
 
         assertThat(personByLikeName)
                 .isNotEmpty()
                 .first()
                 .usingRecursiveComparison()
-                .isEqualTo(savedPerson);
+                .isEqualTo(PersonMapper.toResponse(savedPerson));
     }
 
     @Test
     void shouldReturnEmpty_whenLikeNameNotExists() {
         String searchTerm = "FirstName L";
 
-        List<Person> personByLikeName = personRepository.findByLikeName(searchTerm);
+        List<PersonResponse> personByLikeName = personRepository.searchByName(searchTerm, 10);
 
         assertThat(personByLikeName)
                 .as("Verify no person is found with the search term")
                 .isEmpty();
     }
 
+    @Test
+    void shouldReturnCappedBestMatchesFirst_whenSearchByName() {
+        Person exactMatch = new Person("Ana", "Souza", "City - State - Country", Gender.FEMALE, "ana@email.com");
+        Person laterMatch = new Person("Mariana", "Souza", "City - State - Country", Gender.FEMALE, "mariana@email.com");
+        Person otherMatch = new Person("Luciana", "Souza", "City - State - Country", Gender.FEMALE, "luciana@email.com");
+        personRepository.saveAll(List.of(laterMatch, otherMatch, exactMatch));
+
+        List<PersonResponse> people = personRepository.searchByName("ANA", 2);
+
+        assertThat(people)
+                .hasSize(2)
+                .first()
+                .extracting(PersonResponse::getEmail)
+                .isEqualTo(exactMatch.getEmail());
+    }
+
+    @Test
+    void shouldTreatWildcardsLiterally_whenSearchByName() {
+        personRepository.save(PersonSample.createPerson());
+
+        List<PersonResponse> people = personRepository.searchByName("%", 10);
+
+        assertThat(people).isEmpty();
+    }
+
+    @Test
+    void shouldProjectPersonsOrderedById_whenFindAllResponses() {
+        List<Person> savedPeople = personRepository.saveAll(PersonSample.createPersonList());
+
+        List<PersonResponse> responses = personRepository.findAllResponses();
+
+        assertThat(responses)
+                .containsExactlyElementsOf(savedPeople.stream()
+                        .sorted(Comparator.comparing(Person::getId))
+                        .map(PersonMapper::toResponse)
+                        .toList());
+    }
+
+    @Test
+    void shouldReturnPersonsAfterId_whenFindResponsesAfter() {
+        List<Person> savedPeople = personRepository.saveAll(PersonSample.createPersonList());
+        Long firstId = savedPeople.get(0).getId();
+
+        List<PersonResponse> page = personRepository.findResponsesAfter(firstId, Limit.of(1));
+
+        assertThat(page)
+                .hasSize(1)
+                .extracting(PersonResponse::getId)
+                .containsExactly(savedPeople.get(1).getId());
+    }
+
+    @Test
+    void shouldStreamPersonsOrderedById_whenStreamAllResponses() {
+        List<Person> savedPeople = personRepository.saveAll(PersonSample.createPersonList());
+
+        List<Long> streamedIds;
+        try (Stream<PersonResponse> people = personRepository.streamAllResponses()) {
+            streamedIds = people.map(PersonResponse::getId).toList();
+        }
+
+        assertThat(streamedIds)
+                .containsExactlyElementsOf(savedPeople.stream().map(Person::getId).sorted().toList());
+    }
+
+    @Test
+    void shouldProjectOnlyExistingPersons_whenFindResponsesByIds() {
+        List<Person> savedPeople = personRepository.saveAll(PersonSample.createPersonList());
+        Long id = savedPeople.get(1).getId();
+
+        List<PersonResponse> people = personRepository.findResponsesByIds(List.of(id, -1L));
+
+        assertThat(people).singleElement()
+                .satisfies(person -> {
+                    assertThat(person.getId()).isEqualTo(id);
+                    assertThat(person.getEmail()).isEqualTo(savedPeople.get(1).getEmail());
+                });
+    }
+
+    @Test
+    void shouldStreamLowercaseEmails_whenStreamNormalizedEmails() {
+        Person person = PersonSample.createPerson();
+        person.setEmail("Mixed@Email.com");
+        personRepository.save(person);
+
+        List<String> emails;
+        try (Stream<String> stream = personRepository.streamNormalizedEmails()) {
+            emails = stream.toList();
+        }
+
+        assertThat(emails).containsExactly("mixed@email.com");
+    }
+
+    @Test
+    void shouldUpdateFieldsAndReturnPreviousGender_whenUpdatePerson() {
+        Person savedPerson = personRepository.saveAndFlush(PersonSample.createPerson());
+        Person changes = new Person("Jhon", "Smith", "São Paulo - Brasil", Gender.FEMALE, "jhonsmith@email.com");
+
+        Optional<Gender> previousGender = personRepository.updatePerson(savedPerson.getId(), changes);
+
+        Person updatedPerson = personRepository.findById(savedPerson.getId()).orElseThrow();
+        assertThat(previousGender).contains(Gender.MALE);
+        assertThat(updatedPerson)
+                .extracting(Person::getFirstName, Person::getLastName, Person::getAddress, Person::getGender, Person::getEmail, Person::getVersion)
+                .containsExactly("Jhon", "Smith", "São Paulo - Brasil", Gender.FEMALE, "jhonsmith@email.com", savedPerson.getVersion() + 1);
+    }
+
+    @Test
+    void shouldReturnEmpty_whenUpdatePersonNotExists() {
+        assertThat(personRepository.updatePerson(1L, PersonSample.createPerson())).isEmpty();
+    }
+
+    @Test
+    void shouldReturnEmpty_whenUpdatePersonIfVersionIsStale() {
+        Person savedPerson = personRepository.saveAndFlush(PersonSample.createPerson());
+
+        assertThat(personRepository.updatePersonIfVersion(
+                savedPerson.getId(), savedPerson.getVersion() + 1, PersonSample.createPerson())).isEmpty();
+        assertThat(personRepository.updatePersonIfVersion(
+                savedPerson.getId(), savedPerson.getVersion(), PersonSample.createPerson())).contains(Gender.MALE);
+    }
+
+    @Test
+    void shouldThrowDataIntegrityViolation_whenUpdatePersonToExistingEmail() {
+        Person first = personRepository.saveAndFlush(PersonSample.createPerson());
+        Person second = PersonSample.createPerson();
+        second.setEmail("second@email.com");
+        personRepository.saveAndFlush(second);
+        Person changes = PersonSample.createPerson();
+        changes.setEmail(first.getEmail().toUpperCase());
+
+        assertThatThrownBy(() -> personRepository.updatePerson(second.getId(), changes))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    void shouldReturnDeletedGender_whenDeletePerson() {
+        Person savedPerson = personRepository.saveAndFlush(PersonSample.createPerson());
+
+        assertThat(personRepository.deletePerson(savedPerson.getId())).contains(Gender.MALE);
+        assertThat(personRepository.deletePerson(savedPerson.getId())).isEmpty();
+        assertThat(personRepository.existsById(savedPerson.getId())).isFalse();
+    }
+
     @Test
     void shouldDeleteAPerson_whenDeleteById() {
         Person personToBeSaved = PersonSample.createPerson();
@@ -170,4 +370,61 @@ class PersonRepositoryTest {
         assertThat(personRepository.existsById(savedPerson.getId())).isFalse();
         assertThat(personRepository.count()).isEqualTo(initialCount - 1);
     }
+
+    @Test
+    void shouldCountPersonsPerGender_whenCountByGender() {
+        personRepository.saveAll(List.of(
+                new Person("Diego", "Ruescas", "São Paulo - Brasil", Gender.MALE, "diego@email.com"),
+                new Person("John", "Doe", "São Paulo - Brasil", Gender.MALE, "john@email.com"),
+                new Person("Jane", "Doe", "São Paulo - Brasil", Gender.FEMALE, "jane@email.com")));
+
+        List<GenderCount> genderCounts = personRepository.countByGender();
+
+        assertThat(genderCounts).containsExactlyInAnyOrder(
+                new GenderCount(Gender.MALE, 2L), new GenderCount(Gender.FEMALE, 1L));
+    }
+
+    @Test
+    void shouldThrowNotImplemented_whenImportCsvOutsidePostgres() {
+        InputStream csv = new ByteArrayInputStream("firstName,lastName,address,gender,email\n".getBytes());
+
+        assertThatThrownBy(() -> personRepository.importCsv(csv, 10))
+                .isInstanceOf(NotImplementedException.class)
+                .hasMessage("CSV import requires PostgreSQL");
+    }
+
+    @Test
+    void shouldWriteQuotedCsvOrderedById_whenExportCsvOutsidePostgres() {
+        Person personOne = personRepository.saveAndFlush(
+                new Person("John", "Doe", "Street 1, City", Gender.MALE, "john@email.com"));
+        Person personTwo = personRepository.saveAndFlush(
+                new Person("Jane", "O\"Neil", "City", Gender.FEMALE, "jane@email.com"));
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+
+        long rows = personRepository.exportCsv(csv);
+
+        assertThat(rows).isEqualTo(2);
+        assertThat(csv.toString(StandardCharsets.UTF_8).lines()).containsExactly(
+                "id,firstName,lastName,address,gender,email",
+                personOne.getId() + ",John,Doe,\"Street 1, City\",MALE,john@email.com",
+                personTwo.getId() + ",Jane,\"O\"\"Neil\",City,FEMALE,jane@email.com");
+    }
+
+    @Test
+    void shouldMatchEveryTermAcrossNameAndAddress_whenSearchOutsidePostgres() {
+        Person paulista = personRepository.save(
+                new Person("John", "Doe", "Avenida Paulista, 1000 - São Paulo", Gender.MALE, "john@email.com"));
+        personRepository.save(new Person("Jane", "Doe", "Rua Augusta, 10 - São Paulo", Gender.FEMALE, "jane@email.com"));
+        Person otherJohn = personRepository.save(
+                new Person("John", "Smith", "Rua Paulista, 5 - Santos", Gender.MALE, "smith@email.com"));
+
+        List<PersonSearchHit> hits = personRepository.search(List.of("paulista", "john"), 0, 10, true);
+
+        assertThat(hits)
+                .extracting(PersonSearchHit::getId, PersonSearchHit::getHighlight)
+                .containsExactly(tuple(paulista.getId(), null), tuple(otherJohn.getId(), null));
+        assertThat(personRepository.search(List.of("paulista", "john"), 1, 10, false))
+                .extracting(PersonSearchHit::getId)
+                .containsExactly(otherJohn.getId());
+    }
 }
@@ -1,29 +1,74 @@
 package io.github.diegorscs.unit.service;
 
+import io.github.diegorscs.cache.EmailFilter;
+import io.github.diegorscs.cache.PersonCache;
+import io.github.diegorscs.cache.SingleFlight;
+import io.github.diegorscs.config.EmailFilterProperties;
+import io.github.diegorscs.config.PersonCacheProperties;
+import io.github.diegorscs.config.SingleFlightProperties;
+import io.github.diegorscs.dto.PersonImportRejection;
+import io.github.diegorscs.dto.PersonImportResponse;
+import io.github.diegorscs.dto.PersonLookupResponse;
+import io.github.diegorscs.dto.PersonPageResponse;
+import io.github.diegorscs.dto.PersonResponse;
+import io.github.diegorscs.dto.PersonSearchHit;
+import io.github.diegorscs.dto.PersonSearchResponse;
+import io.github.diegorscs.dto.PersonStatsResponse;
+import io.github.diegorscs.exceptions.PreconditionFailedException;
 import io.github.diegorscs.exceptions.ResourceAlreadyExistsException;
 import io.github.diegorscs.exceptions.ResourceNotFoundException;
+import io.github.diegorscs.mapper.CursorMapper;
+import io.github.diegorscs.mapper.PersonMapper;
+import io.github.diegorscs.model.BatchItem;
+import io.github.diegorscs.model.BatchItemStatus;
 import io.github.diegorscs.model.Gender;
+import io.github.diegorscs.model.GenderCount;
+import io.github.diegorscs.model.ImportRejectionReason;
 import io.github.diegorscs.model.Person;
+import io.github.diegorscs.model.PersonImport;
 import io.github.diegorscs.repository.PersonRepository;
 import io.github.diegorscs.sample.PersonSample;
+import io.github.diegorscs.stats.PersonStats;
+import io.github.diegorscs.stats.PersonStatsReconciler;
 import io.github.diegorscs.service.impl.PersonServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.data.domain.Limit;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 import static org.assertj.core.api.AssertionsForClassTypes.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anySet;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
-import static org.mockito.BDDMockito.willDoNothing;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.BDDMockito.willThrow;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,14 +76,31 @@ class PersonServiceTest {
 
     @Mock
     private PersonRepository personRepository;
+    @Mock
+    private EntityManager entityManager;
+    @Spy
+    private PersonCache personCache = new PersonCache(
+            new PersonCacheProperties(true, 100, Duration.ofMinutes(1)), new SimpleMeterRegistry(), Optional.empty());
+    @Spy
+    private PersonStats personStats = new PersonStats();
+    @Mock
+    private PersonStatsReconciler personStatsReconciler;
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    @Spy
+    private EmailFilter emailFilter = new EmailFilter(
+            new EmailFilterProperties(true, 100, 0.01, Duration.ofHours(1)), meterRegistry);
+    @Spy
+    private SingleFlight singleFlight = new SingleFlight(
+            new SingleFlightProperties(true, Duration.ofSeconds(1)), meterRegistry, Optional.empty());
+    @Spy
+    private TransactionOperations transactionOperations = TransactionOperations.withoutTransaction();
     @InjectMocks
     private PersonServiceImpl personService;
 
     @Test
     void shouldReturnPersonObject_whenSavePerson() {
         Person personToBeSaved = PersonSample.createPerson();
-        given(personRepository.findByEmail(anyString())).willReturn(Optional.empty());
-        given(personRepository.save(personToBeSaved)).willReturn(personToBeSaved);
+        given(personRepository.saveAndFlush(personToBeSaved)).willReturn(personToBeSaved);
 
         Person savedPerson = personService.create(personToBeSaved);
 
@@ -54,39 +116,216 @@ class PersonServiceTest {
     @Test
     void shouldThrowResourceAlreadyExists_whenSavePerson() {
         Person person = PersonSample.createPerson();
-        given(personRepository.findByEmail(anyString())).willReturn(Optional.of(person));
+        given(personRepository.saveAndFlush(person)).willThrow(new DataIntegrityViolationException(
+                "duplicate key value violates unique constraint \"ux_person_email\""));
 
         assertThatThrownBy(() -> personService.create(person))
                 .isInstanceOf(ResourceAlreadyExistsException.class)
                 .hasMessage("Person already exist with given e-Mail: " + person.getEmail());
-        verify(personRepository, never()).save(person);
+        verify(personRepository, never()).findByEmail(anyString());
     }
 
     @Test
-    void shouldReturnPersonsList_whenFindAll() {
-        List<Person> personListMock = PersonSample.createPersonList();
-        given(personRepository.findAll()).willReturn(personListMock);
+    void shouldRethrowOtherIntegrityViolations_whenSavePerson() {
+        Person person = PersonSample.createPerson();
+        DataIntegrityViolationException violation = new DataIntegrityViolationException(
+                "null value in column \"address\" violates not-null constraint");
+        given(personRepository.saveAndFlush(person)).willThrow(violation);
 
-        List<Person> personList = personService.findAll();
+        assertThatThrownBy(() -> personService.create(person)).isSameAs(violation);
+    }
 
-        assertThat(personList)
-                .hasSize(3)
-                .extracting(Person::getFirstName, Person::getLastName, Person::getAddress, Person::getGender, Person::getEmail)
-                .containsExactlyInAnyOrder(
-                        tuple(personListMock.get(0).getFirstName(), personListMock.get(0).getLastName(), personListMock.get(0).getAddress(), personListMock.get(0).getGender(), personListMock.get(0).getEmail()),
-                        tuple(personListMock.get(1).getFirstName(), personListMock.get(1).getLastName(), personListMock.get(1).getAddress(), personListMock.get(1).getGender(), personListMock.get(1).getEmail()),
-                        tuple(personListMock.get(2).getFirstName(), personListMock.get(2).getLastName(), personListMock.get(2).getAddress(), personListMock.get(2).getGender(), personListMock.get(2).getEmail())
-                );
+    @Test
+    void shouldThrowResourceAlreadyExists_whenUpdateToExistingEmail() {
+        Person person = PersonSample.createPerson();
+        given(personRepository.updatePerson(1L, person)).willThrow(new DataIntegrityViolationException(
+                "Unique index or primary key violation: \"PUBLIC.UX_PERSON_EMAIL_INDEX_8 ON PUBLIC.PERSON(EMAIL_NORMALIZED)\""));
+
+        assertThatThrownBy(() -> personService.update(1L, person, null))
+                .isInstanceOf(ResourceAlreadyExistsException.class)
+                .hasMessage("Person already exist with given e-Mail: " + person.getEmail());
+    }
+
+    @Test
+    void shouldReportConflicts_whenCreateAll() {
+        List<Person> people = PersonSample.createPersonList();
+        Person duplicatedInBatch = PersonSample.createPersonList().get(1);
+        duplicatedInBatch.setEmail(duplicatedInBatch.getEmail().toUpperCase());
+        people.add(duplicatedInBatch);
+        given(personRepository.findExistingEmails(anySet())).willReturn(Set.of("email0@email.com"));
+
+        List<BatchItem> items = personService.createAll(people);
+
+        assertThat(items)
+                .extracting(BatchItem::getStatus)
+                .containsExactly(BatchItemStatus.CONFLICT, BatchItemStatus.CREATED, BatchItemStatus.CREATED, BatchItemStatus.CONFLICT);
+        verify(personRepository).saveAll(List.of(people.get(1), people.get(2)));
+        verify(personRepository).flush();
+    }
+
+    @Test
+    void shouldSkipExistingEmailsQuery_whenFilterSaysEveryEmailIsAbsent() {
+        List<Person> people = PersonSample.createPersonList();
+        emailFilter.rebuild(1, () -> Stream.of("other@email.com"));
+
+        List<BatchItem> items = personService.createAll(people);
+
+        assertThat(items).extracting(BatchItem::getStatus).containsOnly(BatchItemStatus.CREATED);
+        verify(personRepository, never()).findExistingEmails(anySet());
+        assertThat(meterRegistry.get("persons.email_filter.checks").tag("result", "absent").counter().count())
+                .isEqualTo(3);
+    }
+
+    @Test
+    void shouldQueryOnlyPossiblyExistingEmailsAndCountFalsePositives_whenCreateAll() {
+        List<Person> people = PersonSample.createPersonList();
+        emailFilter.rebuild(2, () -> Stream.of("email0@email.com", "email1@email.com"));
+        given(personRepository.findExistingEmails(Set.of("email0@email.com", "email1@email.com")))
+                .willReturn(Set.of("email0@email.com"));
+
+        List<BatchItem> items = personService.createAll(people);
+
+        assertThat(items)
+                .extracting(BatchItem::getStatus)
+                .containsExactly(BatchItemStatus.CONFLICT, BatchItemStatus.CREATED, BatchItemStatus.CREATED);
+        assertThat(meterRegistry.get("persons.email_filter.checks").tag("result", "false_positive").counter().count())
+                .isEqualTo(1);
+        assertThat(emailFilter.mightContain(Set.of("email2@email.com"))).containsExactly("email2@email.com");
+    }
+
+    @Test
+    void shouldReportConflict_whenFilterMissesEmailWrittenElsewhere() {
+        List<Person> people = PersonSample.createPersonList();
+        emailFilter.rebuild(1, () -> Stream.of("other@email.com"));
+        given(personRepository.findExistingEmails(Set.of("email0@email.com", "email1@email.com", "email2@email.com")))
+                .willReturn(Set.of("email1@email.com"));
+        willThrow(new DataIntegrityViolationException("duplicate key value violates unique constraint \"ux_person_email\""))
+                .willDoNothing()
+                .given(personRepository).flush();
+
+        List<BatchItem> items = personService.createAll(people);
+
+        assertThat(items)
+                .extracting(BatchItem::getStatus)
+                .containsExactly(BatchItemStatus.CREATED, BatchItemStatus.CONFLICT, BatchItemStatus.CREATED);
+        verify(transactionOperations, times(2)).execute(any());
+        verify(personRepository).saveAll(List.of(people.get(0), people.get(1), people.get(2)));
+        verify(personRepository).saveAll(List.of(people.get(0), people.get(2)));
+    }
+
+    @Test
+    void shouldThrowResourceAlreadyExists_whenCreateAllRacesWithAnotherInsert() {
+        List<Person> people = PersonSample.createPersonList();
+        given(personRepository.findExistingEmails(anySet())).willReturn(Set.of());
+        willThrow(new DataIntegrityViolationException("duplicate key value violates unique constraint \"ux_person_email\""))
+                .given(personRepository).flush();
+
+        assertThatThrownBy(() -> personService.createAll(people))
+                .isInstanceOf(ResourceAlreadyExistsException.class);
+        verify(personRepository, times(2)).findExistingEmails(anySet());
+    }
+
+    @Test
+    void shouldReportImportAndCountImportedPeople_whenImportCsv() {
+        InputStream csv = new ByteArrayInputStream(new byte[0]);
+        List<PersonImportRejection> rejections = List.of(
+                new PersonImportRejection(3L, "email@email.com", ImportRejectionReason.EMAIL_ALREADY_EXISTS));
+        given(personRepository.importCsv(eq(csv), anyInt())).willReturn(new PersonImport(4L,
+                List.of(new GenderCount(Gender.MALE, 2L), new GenderCount(Gender.FEMALE, 1L)), 1L, rejections));
+        personStats.reconcile(() -> List.of());
+
+        PersonImportResponse response = personService.importCsv(csv);
+
+        assertThat(response)
+                .extracting(PersonImportResponse::getReceived, PersonImportResponse::getImported,
+                        PersonImportResponse::getRejected, PersonImportResponse::getRejections)
+                .containsExactly(4L, 3L, 1L, rejections);
+        assertThat(personStats.snapshot().getByGender())
+                .containsEntry(Gender.MALE, 2L)
+                .containsEntry(Gender.FEMALE, 1L);
+    }
+
+    @Test
+    void shouldReturnProjectedPersons_whenFindAll() {
+        List<PersonResponse> responseListMock = PersonSample.createPersonResponseList();
+        given(personRepository.findAllResponses()).willReturn(responseListMock);
+
+        List<PersonResponse> personList = personService.findAll();
+
+        assertThat(personList).containsExactlyElementsOf(responseListMock);
+        verify(personRepository, never()).findAll();
     }
 
     @Test
     void shouldReturnEmptyList_whenFindAll() {
-        given(personRepository.findAll()).willReturn(Collections.emptyList());
+        given(personRepository.findAllResponses()).willReturn(Collections.emptyList());
 
-        List<Person> personList = personService.findAll();
+        List<PersonResponse> personList = personService.findAll();
 
         assertThat(personList).isEmpty();
-        verify(personRepository).findAll();
+        verify(personRepository).findAllResponses();
+    }
+
+    @Test
+    void shouldReturnPageWithoutCursor_whenNoRowFollowsPage() {
+        List<PersonResponse> responseListMock = PersonSample.createPersonResponseList();
+        given(personRepository.findResponsesAfter(10L, Limit.of(4))).willReturn(responseListMock);
+
+        PersonPageResponse page = personService.findPage(10L, 3);
+
+        assertThat(page.getContent()).hasSize(3);
+        assertThat(page.getNextCursor()).isNull();
+        verify(personRepository).findResponsesAfter(10L, Limit.of(4));
+    }
+
+    @Test
+    void shouldReturnNextCursor_whenRowFollowsPage() {
+        List<PersonResponse> responseListMock = PersonSample.createPersonResponseList();
+        given(personRepository.findResponsesAfter(0L, Limit.of(3))).willReturn(responseListMock);
+
+        PersonPageResponse page = personService.findPage(0L, 2);
+
+        assertThat(page.getContent()).containsExactlyElementsOf(responseListMock.subList(0, 2));
+        assertThat(page.getNextCursor()).isEqualTo(CursorMapper.encode(responseListMock.get(1).getId()));
+    }
+
+    @Test
+    void shouldPassEveryProjectedPersonToConsumer_whenExportAll() {
+        List<PersonResponse> responseListMock = PersonSample.createPersonResponseList();
+        given(personRepository.streamAllResponses()).willReturn(responseListMock.stream());
+        List<PersonResponse> exported = new ArrayList<>();
+
+        personService.exportAll(exported::add);
+
+        assertThat(exported).containsExactlyElementsOf(responseListMock);
+        verifyNoInteractions(entityManager);
+    }
+
+    @Test
+    void shouldDelegateToCopyExport_whenExportCsv() {
+        OutputStream csv = new ByteArrayOutputStream();
+        given(personRepository.exportCsv(csv)).willReturn(3L);
+
+        assertThat(personService.exportCsv(csv)).isEqualTo(3L);
+        verify(personRepository, never()).streamAllResponses();
+    }
+
+    @Test
+    void shouldReturnNextPage_whenSearchFindsMoreThanLimit() {
+        List<PersonSearchHit> hits = PersonSample.createPersonResponseList().stream()
+                .map(person -> new PersonSearchHit(person.getId(), person.getFirstName(), person.getLastName(),
+                        person.getAddress(), person.getGender(), person.getEmail(), 0.5, null))
+                .toList();
+        given(personRepository.search(List.of("city"), 2, 3, false)).willReturn(hits);
+        given(personRepository.search(List.of("city"), 4, 3, false)).willReturn(hits.subList(0, 1));
+
+        PersonSearchResponse firstPage = personService.search(List.of("city"), 1, 2, false);
+        PersonSearchResponse lastPage = personService.search(List.of("city"), 2, 2, false);
+
+        assertThat(firstPage.getContent()).containsExactlyElementsOf(hits.subList(0, 2));
+        assertThat(firstPage.getNextPage()).isEqualTo(2);
+        assertThat(lastPage.getContent()).hasSize(1);
+        assertThat(lastPage.getNextPage()).isNull();
     }
 
     @Test
@@ -103,6 +342,81 @@ class PersonServiceTest {
                 .containsExactly(person.getFirstName(), person.getLastName(), person.getAddress(), person.getGender(), person.getEmail());
     }
 
+    @Test
+    void shouldQueryRepositoryOnce_whenFindByIdTwice() {
+        Person person = PersonSample.createPerson();
+        person.setId(1L);
+        given(personRepository.findById(1L)).willReturn(Optional.of(person));
+
+        personService.findById(1L);
+        Person foundPerson = personService.findById(1L);
+
+        assertThat(foundPerson).isSameAs(person);
+        verify(personRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void shouldServeFindByEmailFromCache_afterFindById() {
+        Person person = PersonSample.createPerson();
+        person.setId(1L);
+        given(personRepository.findById(1L)).willReturn(Optional.of(person));
+
+        personService.findById(1L);
+        Person foundPerson = personService.findByEmail(person.getEmail().toUpperCase());
+
+        assertThat(foundPerson).isSameAs(person);
+        verify(personRepository, never()).findByEmail(anyString());
+    }
+
+    @Test
+    void shouldEvictCachedPerson_whenDelete() {
+        Person person = PersonSample.createPerson();
+        person.setId(1L);
+        given(personRepository.findById(1L)).willReturn(Optional.of(person));
+        given(personRepository.deletePerson(1L)).willReturn(Optional.of(Gender.MALE));
+        personService.findById(1L);
+
+        personService.delete(1L);
+
+        assertThat(personCache.getById(1L)).isEmpty();
+        assertThat(personCache.getByEmail(person.getEmail())).isEmpty();
+    }
+
+    @Test
+    void shouldCoalesceByNormalizedEmail_whenFindByEmailMissesCache() {
+        Person person = PersonSample.createPerson();
+        given(personRepository.findByEmail("Email@Email.com")).willReturn(Optional.of(person));
+
+        personService.findByEmail("Email@Email.com");
+
+        verify(singleFlight).execute(eq("email"), eq("email@email.com"), any());
+    }
+
+    @Test
+    void shouldKeepRequestOrderAndReportMissing_whenFindByIds() {
+        List<PersonResponse> people = PersonSample.createPersonResponseList();
+        people.get(0).setId(1L);
+        people.get(1).setId(3L);
+        given(personRepository.findResponsesByIds(List.of(3L, 2L, 1L))).willReturn(people.subList(0, 2));
+
+        PersonLookupResponse response = personService.findByIds(List.of(3L, 2L, 3L, 1L));
+
+        assertThat(response.getContent()).extracting(PersonResponse::getId).containsExactly(3L, 1L);
+        assertThat(response.getMissing()).containsExactly(2L);
+    }
+
+    @Test
+    void shouldQueryInChunks_whenFindByIdsExceedsChunkSize() {
+        List<Long> ids = LongStream.rangeClosed(1, 1_000).boxed().toList();
+        given(personRepository.findResponsesByIds(anyList())).willReturn(List.of());
+
+        PersonLookupResponse response = personService.findByIds(ids);
+
+        verify(personRepository).findResponsesByIds(ids.subList(0, 500));
+        verify(personRepository).findResponsesByIds(ids.subList(500, 1_000));
+        assertThat(response.getMissing()).hasSize(1_000);
+    }
+
     @Test
     void shouldThrowResourceNotFoundException_whenFindById() {
         given(personRepository.findById(anyLong())).willReturn(Optional.empty());
@@ -115,51 +429,98 @@ class PersonServiceTest {
     @Test
     void shouldUpdatedPerson_whenUpdatePerson() {
         Person personToUpdate = PersonSample.createPerson();
-        given(personRepository.findById(anyLong())).willReturn(Optional.of(personToUpdate));
         personToUpdate.setFirstName("Diego");
         personToUpdate.setLastName("Ruescas");
         personToUpdate.setAddress("São Paulo - Brasil");
         personToUpdate.setGender(Gender.MALE);
         personToUpdate.setEmail("diego@email.com");
-        given(personRepository.save(any(Person.class))).willReturn(personToUpdate);
+        given(personRepository.updatePerson(1L, personToUpdate)).willReturn(Optional.of(Gender.MALE));
+        given(personRepository.findById(1L)).willReturn(Optional.of(personToUpdate));
 
-        Person updatedPerson = personService.update(1L, personToUpdate);
+        Person updatedPerson = personService.update(1L, personToUpdate, null);
 
         assertThat(updatedPerson)
                 .isNotNull()
                 .extracting(Person::getFirstName, Person::getLastName, Person::getAddress, Person::getGender, Person::getEmail)
                 .doesNotContainNull()
                 .containsExactly("Diego", "Ruescas", "São Paulo - Brasil", Gender.MALE, "diego@email.com");
+        verify(personRepository, never()).saveAndFlush(any(Person.class));
+    }
+
+    @Test
+    void shouldUpdateOnlyMatchingVersion_whenUpdateWithExpectedVersion() {
+        Person personToUpdate = PersonSample.createPerson();
+        given(personRepository.updatePersonIfVersion(1L, 2L, personToUpdate)).willReturn(Optional.of(Gender.MALE));
+        given(personRepository.findById(1L)).willReturn(Optional.of(personToUpdate));
+
+        personService.update(1L, personToUpdate, 2L);
+
+        verify(personRepository).updatePersonIfVersion(1L, 2L, personToUpdate);
+        verify(personRepository, never()).updatePerson(anyLong(), any(Person.class));
+    }
+
+    @Test
+    void shouldThrowPreconditionFailed_whenUpdateWithStaleVersion() {
+        Person personToUpdate = PersonSample.createPerson();
+        given(personRepository.updatePersonIfVersion(1L, 1L, personToUpdate)).willReturn(Optional.empty());
+        given(personRepository.existsById(1L)).willReturn(true);
+
+        assertThatThrownBy(() -> personService.update(1L, personToUpdate, 1L))
+                .isInstanceOf(PreconditionFailedException.class)
+                .hasMessage("Person has been modified since the given version!");
+        verify(personRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void shouldReturnVersionFromRepository_whenFindVersionById() {
+        given(personRepository.findVersionById(1L)).willReturn(Optional.of(5L));
+
+        Long version = personService.findVersionById(1L);
+
+        assertThat(version).isEqualTo(5L);
+        verify(personRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void shouldThrowResourceNotFoundException_whenFindVersionByIdNotExists() {
+        given(personRepository.findVersionById(1L)).willReturn(Optional.empty());
+
+        assertThatThrownBy(() -> personService.findVersionById(1L))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("No records found for this ID!");
     }
 
     @Test
     void shouldThrowResourceNotFoundException_whenUpdate() {
         Person personToUpdate = PersonSample.createPerson();
-        given(personRepository.findById(anyLong())).willReturn(Optional.empty());
+        given(personRepository.updatePerson(1L, personToUpdate)).willReturn(Optional.empty());
 
-        assertThatThrownBy(() -> personService.update(1L, personToUpdate))
+        assertThatThrownBy(() -> personService.update(1L, personToUpdate, null))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessage("No records found for this ID!");
+        verify(personRepository, never()).existsById(anyLong());
+        verify(personRepository, never()).findById(anyLong());
     }
 
     @Test
     void shouldDoNothing_whenDelete() {
-        Person personToDelete = PersonSample.createPerson();
-        given(personRepository.findById(anyLong())).willReturn(Optional.of(personToDelete));
-        willDoNothing().given(personRepository).deleteById(anyLong());
+        given(personRepository.deletePerson(1L)).willReturn(Optional.of(Gender.MALE));
 
         personService.delete(1L);
 
-        verify(personRepository, times(1)).deleteById(anyLong());
+        verify(personRepository, times(1)).deletePerson(1L);
+        verify(personRepository, never()).findById(anyLong());
+        verify(personRepository, never()).deleteById(anyLong());
     }
 
     @Test
     void shouldThrowResourceNotFoundException_whenDelete() {
-        given(personRepository.findById(anyLong())).willReturn(Optional.empty());
+        given(personRepository.deletePerson(1L)).willReturn(Optional.empty());
 
         assertThatThrownBy(() -> personService.delete(1L))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessage("No records found for this ID!");
+        verify(personStats, never()).decrement(any());
     }
 
     @Test
@@ -187,10 +548,10 @@ class PersonServiceTest {
 
     @Test
     void shouldReturnAPerson_whenLikeName() {
-        Person person = PersonSample.createPerson();
-        given(personRepository.findByLikeName(anyString())).willReturn(List.of(person));
+        PersonResponse person = PersonMapper.toResponse(PersonSample.createPerson());
+        given(personRepository.searchByName(anyString(), anyInt())).willReturn(List.of(person));
 
-        List<Person> foundPerson = personService.findByLikeName(person.getFirstName());
+        List<PersonResponse> foundPerson = personService.findByLikeName(person.getFirstName(), 10);
 
         assertThat(foundPerson)
                 .isNotEmpty()
@@ -201,14 +562,69 @@ class PersonServiceTest {
 
     @Test
     void shouldReturnEmptyList_whenLikeName() {
-        given(personRepository.findByLikeName(anyString())).willReturn(Collections.emptyList());
+        given(personRepository.searchByName(anyString(), anyInt())).willReturn(Collections.emptyList());
 
-        List<Person> foundPerson = personService.findByLikeName("name");
+        List<PersonResponse> foundPerson = personService.findByLikeName("name", 10);
 
         assertThat(foundPerson)
                 .as("Verify no person is found with the search term")
                 .isEmpty();
     }
 
+    @Test
+    void shouldCountCreatedPeopleByGender_whenCreateAndCreateAll() {
+        Person person = PersonSample.createPerson();
+        given(personRepository.saveAndFlush(person)).willReturn(person);
+        given(personRepository.findExistingEmails(anySet())).willReturn(Set.of("email0@email.com"));
+        personStats.reconcile(() -> List.of());
 
+        personService.create(person);
+        personService.createAll(PersonSample.createPersonList());
+
+        assertThat(personService.getStats())
+                .extracting(PersonStatsResponse::getTotal, stats -> stats.getByGender().get(Gender.MALE))
+                .containsExactly(3L, 3L);
+    }
+
+    @Test
+    void shouldMoveCount_whenUpdateChangesGender() {
+        Person personToUpdate = PersonSample.createPerson();
+        personToUpdate.setGender(Gender.FEMALE);
+        given(personRepository.updatePerson(1L, personToUpdate)).willReturn(Optional.of(Gender.MALE));
+        given(personRepository.findById(1L)).willReturn(Optional.of(personToUpdate));
+        personStats.reconcile(() -> List.of(new GenderCount(Gender.MALE, 2L)));
+
+        personService.update(1L, personToUpdate, null);
+
+        assertThat(personService.getStats().getByGender())
+                .containsEntry(Gender.MALE, 1L)
+                .containsEntry(Gender.FEMALE, 1L);
+    }
+
+    @Test
+    void shouldDecrementCount_whenDelete() {
+        given(personRepository.deletePerson(1L)).willReturn(Optional.of(Gender.FEMALE));
+        personStats.reconcile(() -> List.of(new GenderCount(Gender.FEMALE, 1L), new GenderCount(Gender.MALE, 4L)));
+
+        personService.delete(1L);
+
+        assertThat(personService.getStats())
+                .extracting(PersonStatsResponse::getTotal, stats -> stats.getByGender().get(Gender.FEMALE))
+                .containsExactly(4L, 0L);
+    }
+
+    @Test
+    void shouldLoadCountsFromDatabase_whenStatsNotLoaded() {
+        given(personRepository.countByGender()).willReturn(List.of(new GenderCount(Gender.MALE, 7L)));
+        willAnswer(invocation -> personStats.reconcile(personRepository::countByGender))
+                .given(personStatsReconciler).reconcile();
+
+        PersonStatsResponse stats = personService.getStats();
+
+        assertThat(stats.getTotal()).isEqualTo(7L);
+        assertThat(stats.getByGender()).containsEntry(Gender.MALE, 7L).containsEntry(Gender.FEMALE, 0L);
+        personService.getStats();
+        verify(personStatsReconciler, times(1)).reconcile();
+        verify(personRepository, times(1)).countByGender();
+    }
 }
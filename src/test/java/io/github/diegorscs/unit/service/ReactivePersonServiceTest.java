@@ -0,0 +1,245 @@
+package io.github.diegorscs.unit.service;
+
+import io.github.diegorscs.dto.PersonResponse;
+import io.github.diegorscs.dto.PersonSearchHit;
+import io.github.diegorscs.exceptions.PreconditionFailedException;
+import io.github.diegorscs.exceptions.ResourceAlreadyExistsException;
+import io.github.diegorscs.exceptions.ResourceNotFoundException;
+import io.github.diegorscs.mapper.CursorMapper;
+import io.github.diegorscs.model.BatchItemStatus;
+import io.github.diegorscs.model.Gender;
+import io.github.diegorscs.model.GenderCount;
+import io.github.diegorscs.model.Person;
+import io.github.diegorscs.model.PersonUpdate;
+import io.github.diegorscs.repository.ReactivePersonRepository;
+import io.github.diegorscs.sample.PersonSample;
+import io.github.diegorscs.stats.PersonStats;
+import io.github.diegorscs.service.impl.ReactivePersonServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ReactivePersonServiceTest {
+
+    @Mock
+    private ReactivePersonRepository personRepository;
+    @Mock
+    private TransactionalOperator transactionalOperator;
+    @Spy
+    private PersonStats personStats = new PersonStats();
+    @InjectMocks
+    private ReactivePersonServiceImpl personService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionalOperator.transactional(any(Mono.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void shouldStreamAllPeople_whenFindAll() {
+        List<PersonResponse> people = PersonSample.createPersonResponseList();
+        given(personRepository.findAll()).willReturn(Flux.fromIterable(people));
+
+        StepVerifier.create(personService.findAll())
+                .expectNextSequence(people)
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldReturnNextCursor_whenRowFollowsPage() {
+        List<PersonResponse> people = PersonSample.createPersonResponseList();
+        given(personRepository.findAfter(0L, 3)).willReturn(Flux.fromIterable(people));
+
+        StepVerifier.create(personService.findPage(0L, 2))
+                .assertNext(page -> {
+                    assertThat(page.getContent()).containsExactlyElementsOf(people.subList(0, 2));
+                    assertThat(page.getNextCursor()).isEqualTo(CursorMapper.encode(people.get(1).getId()));
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldReturnPageWithoutCursor_whenNoRowFollowsPage() {
+        List<PersonResponse> people = PersonSample.createPersonResponseList();
+        given(personRepository.findAfter(0L, 4)).willReturn(Flux.fromIterable(people));
+
+        StepVerifier.create(personService.findPage(0L, 3))
+                .assertNext(page -> {
+                    assertThat(page.getContent()).hasSize(3);
+                    assertThat(page.getNextCursor()).isNull();
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldReturnPerson_whenFindById() {
+        Person person = PersonSample.createPerson();
+        given(personRepository.findById(1L)).willReturn(Mono.just(person));
+
+        StepVerifier.create(personService.findById(1L))
+                .expectNext(person)
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldThrowResourceNotFoundException_whenFindByIdIsEmpty() {
+        given(personRepository.findById(1L)).willReturn(Mono.empty());
+
+        StepVerifier.create(personService.findById(1L))
+                .expectError(ResourceNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    void shouldThrowResourceAlreadyExistsException_whenCreateViolatesEmailIndex() {
+        Person person = PersonSample.createPerson();
+        given(personRepository.insert(person)).willReturn(Mono.error(
+                new DataIntegrityViolationException("duplicate key value violates unique constraint \"ux_person_email\"")));
+
+        StepVerifier.create(personService.create(person))
+                .expectError(ResourceAlreadyExistsException.class)
+                .verify();
+    }
+
+    @Test
+    void shouldInsertOnlyNewEmails_whenCreateAll() {
+        List<Person> people = PersonSample.createPersonList();
+        given(personRepository.findExistingEmails(anyCollection())).willReturn(Flux.just(people.get(0).getEmail()));
+        given(personRepository.insert(any(Person.class))).willAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        StepVerifier.create(personService.createAll(people))
+                .assertNext(items -> assertThat(items)
+                        .extracting(item -> item.getStatus())
+                        .containsExactly(BatchItemStatus.CONFLICT, BatchItemStatus.CREATED, BatchItemStatus.CREATED))
+                .verifyComplete();
+        verify(personRepository, never()).insert(people.get(0));
+    }
+
+    @Test
+    void shouldThrowPreconditionFailedException_whenUpdateWithStaleVersion() {
+        Person person = PersonSample.createPerson();
+        given(personRepository.updateIfVersion(1L, 0L, person)).willReturn(Mono.empty());
+        given(personRepository.existsById(1L)).willReturn(Mono.just(true));
+
+        StepVerifier.create(personService.update(1L, person, 0L))
+                .expectError(PreconditionFailedException.class)
+                .verify();
+    }
+
+    @Test
+    void shouldThrowResourceNotFoundException_whenUpdateMissingPerson() {
+        Person person = PersonSample.createPerson();
+        given(personRepository.update(1L, person)).willReturn(Mono.empty());
+
+        StepVerifier.create(personService.update(1L, person, null))
+                .expectError(ResourceNotFoundException.class)
+                .verify();
+        verify(personRepository, never()).existsById(1L);
+    }
+
+    @Test
+    void shouldMoveCount_whenUpdateChangesGender() {
+        Person person = PersonSample.createPerson();
+        person.setGender(Gender.FEMALE);
+        given(personRepository.update(1L, person)).willReturn(Mono.just(new PersonUpdate(person, Gender.MALE)));
+        personStats.reconcile(() -> List.of(new GenderCount(Gender.MALE, 1L)));
+
+        StepVerifier.create(personService.update(1L, person, null))
+                .expectNext(person)
+                .verifyComplete();
+        assertThat(personStats.snapshot().getByGender())
+                .containsEntry(Gender.MALE, 0L)
+                .containsEntry(Gender.FEMALE, 1L);
+    }
+
+    @Test
+    void shouldThrowResourceNotFoundException_whenDeleteMissingPerson() {
+        given(personRepository.deleteById(1L)).willReturn(Mono.empty());
+
+        StepVerifier.create(personService.delete(1L))
+                .expectError(ResourceNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    void shouldComplete_whenDeletePerson() {
+        given(personRepository.deleteById(1L)).willReturn(Mono.just(Gender.MALE));
+        personStats.reconcile(() -> List.of(new GenderCount(Gender.MALE, 1L)));
+
+        StepVerifier.create(personService.delete(1L))
+                .verifyComplete();
+        assertThat(personStats.snapshot().getTotal()).isZero();
+    }
+
+    @Test
+    void shouldKeepRequestOrderAndReportMissing_whenFindByIds() {
+        List<PersonResponse> people = PersonSample.createPersonResponseList();
+        given(personRepository.findByIds(List.of(3L, 9L, 1L)))
+                .willReturn(Flux.just(people.get(0), people.get(2)));
+
+        StepVerifier.create(personService.findByIds(List.of(3L, 9L, 1L, 3L)))
+                .assertNext(response -> {
+                    assertThat(response.getContent()).extracting(PersonResponse::getId).containsExactly(3L, 1L);
+                    assertThat(response.getMissing()).containsExactly(9L);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldQueryInChunks_whenFindByIdsExceedsChunkSize() {
+        List<Long> ids = LongStream.rangeClosed(1, 501).boxed().toList();
+        given(personRepository.findByIds(anyCollection())).willReturn(Flux.empty());
+
+        StepVerifier.create(personService.findByIds(ids))
+                .assertNext(response -> assertThat(response.getMissing()).hasSize(501))
+                .verifyComplete();
+        verify(personRepository).findByIds(ids.subList(0, 500));
+        verify(personRepository).findByIds(ids.subList(500, 501));
+    }
+
+    @Test
+    void shouldReturnNextPage_whenSearchFindsMoreThanLimit() {
+        PersonSearchHit hit = new PersonSearchHit(1L, "Ada", "Lovelace", "London", Gender.FEMALE, "ada@email.com", 0.5, null);
+        given(personRepository.search(List.of("ada"), 0, 2, false)).willReturn(Flux.just(hit, hit));
+
+        StepVerifier.create(personService.search(List.of("ada"), 0, 1, false))
+                .assertNext(response -> {
+                    assertThat(response.getContent()).containsExactly(hit);
+                    assertThat(response.getNextPage()).isEqualTo(1);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldWriteHeaderAndQuotedFields_whenExportCsv() {
+        PersonResponse person = new PersonResponse(1L, "Ada", "Lovelace", "London, UK", Gender.FEMALE, "ada@email.com");
+        given(personRepository.findAll()).willReturn(Flux.just(person));
+
+        StepVerifier.create(personService.exportCsv())
+                .expectNext("id,firstName,lastName,address,gender,email\n")
+                .expectNext("1,Ada,Lovelace,\"London, UK\",FEMALE,ada@email.com\n")
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,127 @@
+package io.github.diegorscs.unit.stats;
+
+import io.github.diegorscs.model.Gender;
+import io.github.diegorscs.model.GenderCount;
+import io.github.diegorscs.stats.PersonStats;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.reactive.AbstractReactiveTransactionManager;
+import org.springframework.transaction.reactive.GenericReactiveTransaction;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.OptionalLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PersonStatsTest {
+
+    private final PersonStats personStats = new PersonStats();
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void shouldAddDifferenceToCounters_whenNoWriteCommitsDuringCount() {
+        personStats.increment(Gender.MALE);
+
+        OptionalLong drift = personStats.reconcile(() -> List.of(
+                new GenderCount(Gender.MALE, 3L), new GenderCount(Gender.FEMALE, 1L)));
+
+        assertThat(drift).hasValue(3L);
+        assertThat(personStats.isLoaded()).isTrue();
+        assertThat(personStats.snapshot().getByGender())
+                .containsEntry(Gender.MALE, 3L)
+                .containsEntry(Gender.FEMALE, 1L);
+    }
+
+    @Test
+    void shouldKeepCounters_whenWriteCommitsDuringCount() {
+        personStats.reconcile(() -> List.of(new GenderCount(Gender.MALE, 1L)));
+
+        OptionalLong drift = personStats.reconcile(() -> {
+            personStats.increment(Gender.MALE);
+            return List.of(new GenderCount(Gender.MALE, 1L));
+        });
+
+        assertThat(drift).isEmpty();
+        assertThat(personStats.snapshot().getByGender()).containsEntry(Gender.MALE, 2L);
+    }
+
+    @Test
+    void shouldKeepCounters_whenWriteIsBetweenCommitAndCounting() {
+        TransactionSynchronizationManager.initSynchronization();
+        personStats.increment(Gender.FEMALE);
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(synchronization -> synchronization.beforeCommit(false));
+
+        assertThat(personStats.reconcile(() -> List.of(new GenderCount(Gender.FEMALE, 1L)))).isEmpty();
+
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        synchronizations.forEach(synchronization ->
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        assertThat(personStats.reconcile(() -> List.of(new GenderCount(Gender.FEMALE, 1L)))).hasValue(0L);
+        assertThat(personStats.snapshot().getByGender()).containsEntry(Gender.FEMALE, 1L);
+    }
+
+    @Test
+    void shouldApplyChangeAfterCommit_whenReactiveTransaction() {
+        TransactionalOperator transactionalOperator = TransactionalOperator.create(new NoOpReactiveTransactionManager());
+
+        Mono<Long> totalBeforeCommit = personStats.incrementOnCommit(Gender.MALE)
+                .then(Mono.fromSupplier(() -> personStats.snapshot().getTotal()))
+                .as(transactionalOperator::transactional);
+
+        StepVerifier.create(totalBeforeCommit).expectNext(0L).verifyComplete();
+        assertThat(personStats.snapshot().getByGender()).containsEntry(Gender.MALE, 1L);
+    }
+
+    @Test
+    void shouldApplyChangeImmediately_whenNoReactiveTransaction() {
+        StepVerifier.create(personStats.moveOnCommit(Gender.MALE, Gender.FEMALE)).verifyComplete();
+
+        assertThat(personStats.snapshot().getByGender())
+                .containsEntry(Gender.MALE, -1L)
+                .containsEntry(Gender.FEMALE, 1L);
+    }
+
+    private static class NoOpReactiveTransactionManager extends AbstractReactiveTransactionManager {
+
+        @Override
+        protected Object doGetTransaction(
+                org.springframework.transaction.reactive.TransactionSynchronizationManager synchronizationManager) {
+            return new Object();
+        }
+
+        @Override
+        protected Mono<Void> doBegin(
+                org.springframework.transaction.reactive.TransactionSynchronizationManager synchronizationManager,
+                Object transaction, TransactionDefinition definition) {
+            return Mono.empty();
+        }
+
+        @Override
+        protected Mono<Void> doCommit(
+                org.springframework.transaction.reactive.TransactionSynchronizationManager synchronizationManager,
+                GenericReactiveTransaction status) {
+            return Mono.empty();
+        }
+
+        @Override
+        protected Mono<Void> doRollback(
+                org.springframework.transaction.reactive.TransactionSynchronizationManager synchronizationManager,
+                GenericReactiveTransaction status) {
+            return Mono.empty();
+        }
+    }
+}